@@ -0,0 +1,38 @@
+package com.red5pro.reactnative.benchmark;
+
+import com.red5pro.reactnative.stream.R5ConfigurationCache;
+import com.red5pro.streaming.R5StreamProtocol;
+import com.red5pro.streaming.config.R5Configuration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The content key and cache lookup done for every `configuration` prop update.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigurationCacheBenchmark {
+
+    private final R5ConfigurationCache mCache = R5ConfigurationCache.getInstance();
+
+    @Benchmark
+    public R5Configuration lookup() {
+        String key = R5ConfigurationCache.keyOf("10.0.0.1", 8554, "live", "stream1",
+                1.0f, 2.0f, "", "LICENSE-KEY", "com.red5pro.android");
+        R5Configuration configuration = mCache.get(key);
+        if (configuration == null) {
+            mCache.put(key, configuration = new R5Configuration(R5StreamProtocol.RTSP, "10.0.0.1", 8554, "live", 1.0f, ""));
+        }
+        return configuration;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.red5pro.reactnative.benchmark;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+import com.red5pro.reactnative.stream.R5ConfigurationCache;
+import com.red5pro.reactnative.stream.R5ConfigurationFactory;
+import com.red5pro.streaming.config.R5Configuration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning the `configuration` prop into an R5Configuration, on a re-render with unchanged
+ * values (cache hit) and on the first render (miss).
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigurationFactoryBenchmark {
+
+    private final R5ConfigurationCache mCache = R5ConfigurationCache.getInstance();
+    private final R5ConfigurationFactory mFactory = new R5ConfigurationFactory(mCache);
+
+    private WritableMap mProp;
+
+    @Setup
+    public void setUp() {
+        mProp = new WritableNativeMap();
+        mProp.putString("host", "10.0.0.1");
+        mProp.putInt("port", 8554);
+        mProp.putString("contextName", "live");
+        mProp.putString("streamName", "stream1");
+        mProp.putDouble("bufferTime", 0.5);
+        mProp.putDouble("streamBufferTime", 2.0);
+        mProp.putString("licenseKey", "LICENSE-KEY");
+        mProp.putString("bundleID", "com.red5pro.android");
+        mProp.putString("key", "view1");
+    }
+
+    @Benchmark
+    public R5Configuration rerender() {
+        return mFactory.fromMap(mProp);
+    }
+
+    @Benchmark
+    public R5Configuration firstRender() {
+        mCache.clear();
+        return mFactory.fromMap(mProp);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.red5pro.reactnative.benchmark;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.events.RCTEventEmitter;
+import com.red5pro.reactnative.metrics.StatsRingBuffer;
+import com.red5pro.reactnative.view.R5EventPayloads;
+import com.red5pro.streaming.event.R5ConnectionEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The payload each onConnectionEvent, onMetaData and stats batch of a view builds and hands
+ * to the event emitter.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventPayloadsBenchmark {
+
+    private static final int BATCH = 10;
+
+    private static final String METADATA =
+            "orientation=90;width=640;height=360;streamingMode=Video/Audio;videoCodec=H264;audioCodec=AAC";
+
+    private final StatsRingBuffer mBuffer = new StatsRingBuffer(64);
+    private final double[] mSample = new double[StatsRingBuffer.FIELD_COUNT];
+
+    private RCTEventEmitter mEmitter;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        mEmitter = new RCTEventEmitter() {
+            @Override
+            public void receiveEvent(int targetTag, String eventName, WritableMap event) {
+                blackhole.consume(event);
+            }
+
+            @Override
+            public void receiveTouches(String eventName, WritableArray touches, WritableArray changedIndices) {
+            }
+        };
+    }
+
+    @Benchmark
+    public void connectionEvent() {
+        mEmitter.receiveEvent(1, "onSubscriberStreamStatus",
+                R5EventPayloads.createStatusMap(R5ConnectionEvent.START_STREAMING, "stream1"));
+    }
+
+    @Benchmark
+    public void metaData() {
+        mEmitter.receiveEvent(1, "onMetaDataEvent", R5EventPayloads.createMetaDataMap(METADATA));
+    }
+
+    @Benchmark
+    public void statsBatch() {
+        for (int i = 0; i < BATCH; i++) {
+            mSample[StatsRingBuffer.TIME] = i;
+            mBuffer.offer(mSample);
+        }
+        mEmitter.receiveEvent(1, "onStreamStats", R5EventPayloads.createStatsMap(mBuffer, "stream1", false));
+    }
+
+}
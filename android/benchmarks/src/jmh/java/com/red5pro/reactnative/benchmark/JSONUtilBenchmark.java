@@ -0,0 +1,62 @@
+package com.red5pro.reactnative.benchmark;
+
+import com.facebook.react.bridge.WritableMap;
+import com.red5pro.reactnative.util.JSONUtil;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON to bridge map and back, through the org.json tree and through the streaming reader
+ * and writer, for payloads the size of a stats batch of the given number of samples.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JSONUtilBenchmark {
+
+    @Param({"1", "10", "60"})
+    public int samples;
+
+    private String mJson;
+    private WritableMap mMap;
+
+    @Setup
+    public void setUp() throws IOException {
+        mJson = Payloads.statsJson(samples);
+        mMap = JSONUtil.parseMap(mJson);
+    }
+
+    @Benchmark
+    public WritableMap treeParse() throws JSONException {
+        return JSONUtil.convertJsonToMap(new JSONObject(mJson));
+    }
+
+    @Benchmark
+    public WritableMap streamParse() throws IOException {
+        return JSONUtil.parseMap(mJson);
+    }
+
+    @Benchmark
+    public String treeWrite() throws JSONException {
+        return JSONUtil.convertMapToJson(mMap).toString();
+    }
+
+    @Benchmark
+    public String streamWrite() throws IOException {
+        return JSONUtil.toJson(mMap);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.red5pro.reactnative.benchmark;
+
+import com.red5pro.reactnative.util.MetaDataParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the metadata strings delivered to subscribers through onMetaData, against the
+ * split-based parsing it replaced as a baseline.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetaDataParserBenchmark {
+
+    private static final String METADATA =
+            "orientation=90;width=640;height=360;streamingMode=Video/Audio;videoCodec=H264;audioCodec=AAC";
+
+    private final MetaDataParser mParser = new MetaDataParser();
+
+    @Benchmark
+    public int parseOrientation() {
+        mParser.parse(METADATA);
+        return mParser.getOrientation(Integer.MIN_VALUE);
+    }
+
+    @Benchmark
+    public int parseAll() {
+        mParser.parse(METADATA);
+        return mParser.getOrientation(0) + mParser.getWidth(0) + mParser.getHeight(0);
+    }
+
+    /**
+     * The former R5VideoViewLayout.onMetaData, which split the string on every callback.
+     */
+    @Benchmark
+    public int splitParse() {
+        int orientation = Integer.MIN_VALUE;
+        String[] props = METADATA.split(";");
+        for (String s : props) {
+            String[] kv = s.split("=");
+            if (kv[0].equalsIgnoreCase("orientation")) {
+                orientation = Integer.parseInt(kv[1]);
+            }
+        }
+        return orientation;
+    }
+
+}
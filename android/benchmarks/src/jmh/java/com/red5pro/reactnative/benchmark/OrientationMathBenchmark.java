@@ -0,0 +1,34 @@
+package com.red5pro.reactnative.benchmark;
+
+import com.red5pro.reactnative.util.OrientationMath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The orientation updates run on every settled rotation of a publisher.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrientationMathBenchmark {
+
+    private int mRotation;
+
+    @Benchmark
+    public int reorient() {
+        int rotation = mRotation = (mRotation + 1) & 3;
+        int camera = OrientationMath.applyRotation(270, rotation);
+        int display = OrientationMath.displayOrientation(camera, rotation);
+        int cameraOrientation = OrientationMath.cameraOrientation(display, rotation, false);
+        return OrientationMath.previewOrientation(cameraOrientation, false);
+    }
+
+}
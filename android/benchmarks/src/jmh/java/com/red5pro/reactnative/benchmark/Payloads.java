@@ -0,0 +1,39 @@
+package com.red5pro.reactnative.benchmark;
+
+import com.red5pro.reactnative.metrics.StatsRingBuffer;
+
+/**
+ * Payloads shaped like those the library sends.
+ */
+
+final class Payloads {
+
+    private Payloads() {
+    }
+
+    /**
+     * @return a stats event of samples samples, one array per field.
+     */
+    static String statsJson(int samples) {
+
+        StringBuilder json = new StringBuilder("{\"streamName\":\"stream1\",\"publisher\":false,");
+        json.append("\"count\":").append(samples).append(",\"overflow\":0,\"samples\":{");
+        for (int field = 0; field < StatsRingBuffer.FIELD_COUNT; field++) {
+            if (field > 0) {
+                json.append(',');
+            }
+            json.append('"').append(StatsRingBuffer.FIELD_NAMES[field]).append("\":[");
+            for (int i = 0; i < samples; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                // Half integral, half fractional, as counters and rates mix.
+                json.append(field % 2 == 0 ? String.valueOf(1000 + i) : String.valueOf(1000.25 + i));
+            }
+            json.append(']');
+        }
+        return json.append("}}").toString();
+
+    }
+
+}
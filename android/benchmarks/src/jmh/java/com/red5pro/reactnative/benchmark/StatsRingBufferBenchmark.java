@@ -0,0 +1,43 @@
+package com.red5pro.reactnative.benchmark;
+
+import com.red5pro.reactnative.metrics.StatsRingBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One batch of stats samples written by the sampler and drained for delivery.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatsRingBufferBenchmark {
+
+    private static final int BATCH = 10;
+
+    private final StatsRingBuffer mBuffer = new StatsRingBuffer(64);
+    private final double[] mSample = new double[StatsRingBuffer.FIELD_COUNT];
+
+    @Benchmark
+    public int offerAndDrainBatch(final Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            mSample[StatsRingBuffer.TIME] = i;
+            mBuffer.offer(mSample);
+        }
+        return mBuffer.drain(new StatsRingBuffer.Reader() {
+            @Override
+            public void onSample(double[] values, int offset) {
+                blackhole.consume(values[offset + StatsRingBuffer.BITRATE]);
+            }
+        }, BATCH);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.red5pro.reactnative.benchmark;
+
+import com.red5pro.reactnative.trace.TraceBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing one trace record into the in-memory ring.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TraceBufferBenchmark {
+
+    private final TraceBuffer mBuffer = TraceBuffer.allocate(1024);
+    private int mCode;
+
+    @Benchmark
+    public long write() {
+        mBuffer.write(System.currentTimeMillis(), 3, 1, 3, mCode++, 0);
+        return mBuffer.getWrittenCount();
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.facebook.react.bridge;
+
+public interface ReadableMapKeySetIterator {
+
+    boolean hasNextKey();
+
+    String nextKey();
+
+}
@@ -0,0 +1,129 @@
+package com.facebook.react.bridge;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * JVM stand-in for the JNI-backed map of React Native. Values are kept the way the bridge
+ * keeps them, numbers as doubles, so reads and writes cost about what boxing them does.
+ */
+
+public class WritableNativeMap implements WritableMap {
+
+    private final LinkedHashMap<String, Object> mValues = new LinkedHashMap<>();
+
+    @Override
+    public boolean hasKey(String name) {
+        return mValues.containsKey(name);
+    }
+
+    @Override
+    public boolean isNull(String name) {
+        return mValues.get(name) == null;
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        return (Boolean) value(name);
+    }
+
+    @Override
+    public double getDouble(String name) {
+        return (Double) value(name);
+    }
+
+    @Override
+    public int getInt(String name) {
+        return ((Double) value(name)).intValue();
+    }
+
+    @Override
+    public String getString(String name) {
+        return (String) mValues.get(name);
+    }
+
+    @Override
+    public ReadableArray getArray(String name) {
+        return (ReadableArray) mValues.get(name);
+    }
+
+    @Override
+    public ReadableMap getMap(String name) {
+        return (ReadableMap) mValues.get(name);
+    }
+
+    @Override
+    public ReadableType getType(String name) {
+        return WritableNativeArray.typeOf(value(name));
+    }
+
+    @Override
+    public ReadableMapKeySetIterator keySetIterator() {
+        final Iterator<String> keys = mValues.keySet().iterator();
+        return new ReadableMapKeySetIterator() {
+            @Override
+            public boolean hasNextKey() {
+                return keys.hasNext();
+            }
+
+            @Override
+            public String nextKey() {
+                return keys.next();
+            }
+        };
+    }
+
+    @Override
+    public HashMap<String, Object> toHashMap() {
+        return new HashMap<>(mValues);
+    }
+
+    @Override
+    public void putNull(String key) {
+        mValues.put(key, null);
+    }
+
+    @Override
+    public void putBoolean(String key, boolean value) {
+        mValues.put(key, value);
+    }
+
+    @Override
+    public void putDouble(String key, double value) {
+        mValues.put(key, value);
+    }
+
+    @Override
+    public void putInt(String key, int value) {
+        mValues.put(key, (double) value);
+    }
+
+    @Override
+    public void putString(String key, String value) {
+        mValues.put(key, value);
+    }
+
+    @Override
+    public void putArray(String key, WritableArray value) {
+        mValues.put(key, value);
+    }
+
+    @Override
+    public void putMap(String key, WritableMap value) {
+        mValues.put(key, value);
+    }
+
+    @Override
+    public void merge(ReadableMap source) {
+        mValues.putAll(source.toHashMap());
+    }
+
+    private Object value(String name) {
+        if (!mValues.containsKey(name)) {
+            throw new IllegalArgumentException("No such key: " + name);
+        }
+        return mValues.get(name);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.facebook.react.uimanager.events;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+public interface RCTEventEmitter {
+
+    void receiveEvent(int targetTag, String eventName, WritableMap event);
+
+    void receiveTouches(String eventName, WritableArray touches, WritableArray changedIndices);
+
+}
@@ -6,6 +6,10 @@ import com.facebook.react.ReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.uimanager.ViewManager;
+import com.red5pro.reactnative.module.R5StreamModule;
+import com.red5pro.reactnative.stream.DefaultStreamProvider;
+import com.red5pro.reactnative.stream.R5StreamProvider;
+import com.red5pro.reactnative.view.R5SessionRegistry;
 import com.red5pro.reactnative.view.R5VideoViewManager;
 
 import java.util.Collections;
@@ -13,18 +17,36 @@ import java.util.List;
 
 public class R5Package implements ReactPackage {
 
+    // Shared so the native module sees the views mounted by the view manager.
+    private final R5SessionRegistry mRegistry = new R5SessionRegistry();
+    private final R5StreamProvider mStreamProvider;
+
+    public R5Package() {
+        this(DefaultStreamProvider.INSTANCE);
+    }
+
+    /**
+     * Creates views whose SDK objects come from streamProvider, e.g. a
+     * {@link com.red5pro.reactnative.stream.FakeStreamProvider} for load tests without a server.
+     */
+    public R5Package(R5StreamProvider streamProvider) {
+        mStreamProvider = streamProvider;
+    }
+
     @Override
     public List<ViewManager> createViewManagers(
             ReactApplicationContext reactContext) {
         return Collections.<ViewManager>singletonList(
-                new R5VideoViewManager()
+                new R5VideoViewManager(mRegistry, mStreamProvider)
         );
     }
 
     @Override
     public List<NativeModule> createNativeModules(
             ReactApplicationContext reactContext) {
-        return Collections.emptyList();
+        return Collections.<NativeModule>singletonList(
+                new R5StreamModule(reactContext, mRegistry)
+        );
     }
 
 }
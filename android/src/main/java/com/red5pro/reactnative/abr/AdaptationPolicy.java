@@ -0,0 +1,21 @@
+package com.red5pro.reactnative.abr;
+
+/**
+ * Decides which ladder rung to publish at from the latest network sample.
+ */
+
+public interface AdaptationPolicy {
+
+    /**
+     * @param ladder the quality ladder; index 0 is the highest quality.
+     * @param current the rung currently published.
+     * @param throughput smoothed send rate, in kb/s.
+     * @param queueSize packets waiting in the send queue.
+     * @param now monotonic time of the sample, in ms.
+     * @return the rung to publish at next.
+     */
+    int evaluate(BitrateLadder ladder, int current, double throughput, long queueSize, long now);
+
+    void reset();
+
+}
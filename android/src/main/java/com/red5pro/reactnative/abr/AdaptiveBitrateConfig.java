@@ -0,0 +1,51 @@
+package com.red5pro.reactnative.abr;
+
+/**
+ * Tunables of the adaptive bitrate engine. Defaults are conservative: only the bitrate
+ * is adapted and downgrades react faster than upgrades.
+ */
+
+public class AdaptiveBitrateConfig {
+
+    /**
+     * Number of rungs in the ladder, including the top one.
+     */
+    public int steps = 4;
+    public double stepFactor = 0.65;
+    public int minBitrate = 128;
+    public int minFramerate = 10;
+    public boolean allowResolutionChange = false;
+    public boolean allowFramerateChange = false;
+
+    /**
+     * How often samples are taken, in ms.
+     */
+    public long sampleInterval = 1000;
+
+    /**
+     * Socket queue size above which the link counts as congested.
+     */
+    public long queueHigh = 20;
+    /**
+     * Socket queue size at or below which the link counts as clear.
+     */
+    public long queueLow = 2;
+    /**
+     * Fraction of the rung bitrate under which throughput counts as falling behind.
+     */
+    public double downThreshold = 0.7;
+
+    /**
+     * How long congestion must last before stepping down, in ms.
+     */
+    public long downgradeHoldTime = 2000;
+    /**
+     * How long the link must stay clear before stepping up, in ms.
+     */
+    public long upgradeHoldTime = 10000;
+    /**
+     * Minimum time between two rung changes, in ms.
+     */
+    public long minDwellTime = 3000;
+
+}
@@ -0,0 +1,73 @@
+package com.red5pro.reactnative.abr;
+
+/**
+ * Feeds network samples to an {@link AdaptationPolicy} and reports rung changes.
+ *
+ * Free of Android dependencies so it can be driven by the device sampler as well as by
+ * {@link AdaptiveBitrateSimulator} on a plain JVM.
+ */
+
+public class AdaptiveBitrateEngine {
+
+    public interface Listener {
+        void onRungChanged(BitrateLadder.Rung rung, int index, int previousIndex, double throughput, long queueSize);
+    }
+
+    private final BitrateLadder mLadder;
+    private final AdaptationPolicy mPolicy;
+    private Listener mListener;
+
+    private int mCurrent;
+    private int mSwitchCount;
+
+    public AdaptiveBitrateEngine(BitrateLadder ladder, AdaptationPolicy policy) {
+        mLadder = ladder;
+        mPolicy = policy;
+    }
+
+    public void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * @return the index of the rung to publish at after this sample.
+     */
+    public int onSample(double throughput, long queueSize, long now) {
+
+        int next = mPolicy.evaluate(mLadder, mCurrent, throughput, queueSize, now);
+        next = Math.max(0, Math.min(mLadder.size() - 1, next));
+        if (next != mCurrent) {
+            int previous = mCurrent;
+            mCurrent = next;
+            mSwitchCount++;
+            if (mListener != null) {
+                mListener.onRungChanged(mLadder.get(next), next, previous, throughput, queueSize);
+            }
+        }
+        return mCurrent;
+
+    }
+
+    public void reset() {
+        mCurrent = 0;
+        mSwitchCount = 0;
+        mPolicy.reset();
+    }
+
+    public BitrateLadder getLadder() {
+        return mLadder;
+    }
+
+    public int getCurrentIndex() {
+        return mCurrent;
+    }
+
+    public BitrateLadder.Rung getCurrentRung() {
+        return mLadder.get(mCurrent);
+    }
+
+    public int getSwitchCount() {
+        return mSwitchCount;
+    }
+
+}
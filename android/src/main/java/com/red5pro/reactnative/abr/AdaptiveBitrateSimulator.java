@@ -0,0 +1,177 @@
+package com.red5pro.reactnative.abr;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a recorded bandwidth trace through an {@link AdaptiveBitrateEngine} on a plain JVM.
+ *
+ * The link is modelled as a FIFO send queue: each sample interval the encoder adds the
+ * current rung's bitrate and the link drains up to the trace bandwidth. Throughput and
+ * queue size are then fed to the engine exactly as the device sampler would.
+ *
+ * Trace files hold one `timeMs,bandwidthKbps` pair per line; blank lines and lines starting
+ * with `#` are ignored. Bandwidth is held constant until the next entry.
+ *
+ * Usage: AdaptiveBitrateSimulator trace.csv [bitrate width height framerate]
+ */
+
+public class AdaptiveBitrateSimulator {
+
+    // Payload of a typical RTP packet, used to express the queue in packets like the SDK does.
+    private static final double PACKET_KBITS = 1200 * 8 / 1000.0;
+
+    public static class Result {
+
+        public int samples;
+        public int switches;
+        public double meanBitrate;
+        public double meanThroughput;
+        /**
+         * Fraction of samples whose queue exceeded the congestion threshold.
+         */
+        public double congestedRatio;
+        public long maxQueue;
+
+    }
+
+    private final AdaptiveBitrateConfig mConfig;
+    private final AdaptiveBitrateEngine mEngine;
+    private PrintStream mLog;
+
+    public AdaptiveBitrateSimulator(AdaptiveBitrateEngine engine, AdaptiveBitrateConfig config) {
+        mEngine = engine;
+        mConfig = config;
+    }
+
+    /**
+     * Prints one CSV line per sample to out when set.
+     */
+    public void setLog(PrintStream out) {
+        mLog = out;
+    }
+
+    public static List<long[]> readTrace(Reader source) throws IOException {
+
+        List<long[]> trace = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int comma = line.indexOf(',');
+            if (comma < 0) {
+                throw new IOException("Malformed trace line: " + line);
+            }
+            trace.add(new long[] {
+                    Long.parseLong(line.substring(0, comma).trim()),
+                    Math.round(Double.parseDouble(line.substring(comma + 1).trim()))
+            });
+        }
+        return trace;
+
+    }
+
+    public Result run(List<long[]> trace) {
+
+        Result result = new Result();
+        if (trace.isEmpty()) {
+            return result;
+        }
+
+        mEngine.reset();
+        if (mLog != null) {
+            mLog.println("time,bandwidth,rung,bitrate,throughput,queue");
+        }
+
+        final long step = mConfig.sampleInterval;
+        final double seconds = step / 1000.0;
+        final long end = trace.get(trace.size() - 1)[0];
+        double queueKbits = 0;
+        double bitrateTotal = 0;
+        double throughputTotal = 0;
+        int congested = 0;
+        int entry = 0;
+
+        for (long now = trace.get(0)[0]; now <= end; now += step) {
+
+            while (entry + 1 < trace.size() && trace.get(entry + 1)[0] <= now) {
+                entry++;
+            }
+            long bandwidth = trace.get(entry)[1];
+            BitrateLadder.Rung rung = mEngine.getCurrentRung();
+
+            double pending = queueKbits + rung.bitrate * seconds;
+            double sent = Math.min(pending, bandwidth * seconds);
+            queueKbits = pending - sent;
+            double throughput = sent / seconds;
+            long queue = Math.round(queueKbits / PACKET_KBITS);
+
+            int index = mEngine.onSample(throughput, queue, now);
+
+            result.samples++;
+            bitrateTotal += rung.bitrate;
+            throughputTotal += throughput;
+            result.maxQueue = Math.max(result.maxQueue, queue);
+            if (queue > mConfig.queueHigh) {
+                congested++;
+            }
+            if (mLog != null) {
+                mLog.println(now + "," + bandwidth + "," + index + "," + rung.bitrate + ","
+                        + Math.round(throughput) + "," + queue);
+            }
+
+        }
+
+        result.switches = mEngine.getSwitchCount();
+        result.meanBitrate = bitrateTotal / result.samples;
+        result.meanThroughput = throughputTotal / result.samples;
+        result.congestedRatio = (double) congested / result.samples;
+        return result;
+
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 1) {
+            System.err.println("Usage: AdaptiveBitrateSimulator trace.csv [bitrate width height framerate]");
+            System.exit(1);
+        }
+
+        int bitrate = args.length > 1 ? Integer.parseInt(args[1]) : 750;
+        int width = args.length > 2 ? Integer.parseInt(args[2]) : 640;
+        int height = args.length > 3 ? Integer.parseInt(args[3]) : 360;
+        int framerate = args.length > 4 ? Integer.parseInt(args[4]) : 15;
+
+        AdaptiveBitrateConfig config = new AdaptiveBitrateConfig();
+        BitrateLadder ladder = BitrateLadder.fromTop(bitrate, width, height, framerate, config);
+        AdaptiveBitrateEngine engine = new AdaptiveBitrateEngine(ladder, new HysteresisPolicy(config));
+        AdaptiveBitrateSimulator simulator = new AdaptiveBitrateSimulator(engine, config);
+        simulator.setLog(System.out);
+
+        FileReader source = new FileReader(args[0]);
+        Result result;
+        try {
+            result = simulator.run(readTrace(source));
+        } finally {
+            source.close();
+        }
+
+        System.err.println("ladder: " + ladder.getRungs());
+        System.err.println("samples: " + result.samples
+                + ", switches: " + result.switches
+                + ", mean bitrate: " + Math.round(result.meanBitrate)
+                + ", mean throughput: " + Math.round(result.meanThroughput)
+                + ", congested: " + Math.round(result.congestedRatio * 100) + "%"
+                + ", max queue: " + result.maxQueue);
+
+    }
+
+}
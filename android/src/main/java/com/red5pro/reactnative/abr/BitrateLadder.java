@@ -0,0 +1,101 @@
+package com.red5pro.reactnative.abr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ordered publish quality levels, from the configured top quality (index 0) downwards.
+ */
+
+public class BitrateLadder {
+
+    public static class Rung {
+
+        public final int bitrate;
+        public final int width;
+        public final int height;
+        public final int framerate;
+
+        public Rung(int bitrate, int width, int height, int framerate) {
+            this.bitrate = bitrate;
+            this.width = width;
+            this.height = height;
+            this.framerate = framerate;
+        }
+
+        public boolean hasSameResolution(Rung other) {
+            return width == other.width && height == other.height;
+        }
+
+        @Override
+        public String toString() {
+            return bitrate + "kb/s " + width + "x" + height + "@" + framerate;
+        }
+
+    }
+
+    private final List<Rung> mRungs;
+
+    public BitrateLadder(List<Rung> rungs) {
+        if (rungs.isEmpty()) {
+            throw new IllegalArgumentException("A ladder needs at least one rung.");
+        }
+        mRungs = Collections.unmodifiableList(new ArrayList<>(rungs));
+    }
+
+    /**
+     * Builds a ladder whose top rung is the configured publish quality. Each step down
+     * multiplies the bitrate by `config.stepFactor`, never going below `config.minBitrate`.
+     * Resolution and framerate are only reduced on the lower rungs, and only when the
+     * config allows it.
+     */
+    public static BitrateLadder fromTop(int bitrate, int width, int height, int framerate,
+                                        AdaptiveBitrateConfig config) {
+
+        List<Rung> rungs = new ArrayList<>(config.steps);
+        rungs.add(new Rung(bitrate, width, height, framerate));
+
+        double rungBitrate = bitrate;
+        for (int i = 1; i < config.steps; i++) {
+            rungBitrate *= config.stepFactor;
+            int stepBitrate = (int) Math.max(config.minBitrate, Math.round(rungBitrate));
+            if (stepBitrate >= rungs.get(rungs.size() - 1).bitrate) {
+                break;
+            }
+
+            // Only the bottom half of the ladder gives up resolution or framerate.
+            boolean lower = i * 2 >= config.steps;
+            int stepWidth = width;
+            int stepHeight = height;
+            if (lower && config.allowResolutionChange) {
+                stepWidth = even(width * 3 / 4);
+                stepHeight = even(height * 3 / 4);
+            }
+            int stepFramerate = framerate;
+            if (lower && config.allowFramerateChange) {
+                stepFramerate = Math.max(config.minFramerate, framerate * 2 / 3);
+            }
+            rungs.add(new Rung(stepBitrate, stepWidth, stepHeight, stepFramerate));
+        }
+        return new BitrateLadder(rungs);
+
+    }
+
+    public int size() {
+        return mRungs.size();
+    }
+
+    public Rung get(int index) {
+        return mRungs.get(index);
+    }
+
+    public List<Rung> getRungs() {
+        return mRungs;
+    }
+
+    private static int even(int value) {
+        return value & ~1;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.red5pro.reactnative.abr;
+
+/**
+ * Default policy: steps down one rung after sustained congestion and up one rung after a
+ * longer period with an empty send queue, with a minimum dwell time between changes.
+ *
+ * Send throughput is capped by the encoder, so it cannot show spare capacity; upgrades
+ * rely on the queue staying clear. A low throughput alone is not treated as congestion,
+ * since static scenes legitimately encode below target.
+ */
+
+public class HysteresisPolicy implements AdaptationPolicy {
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final AdaptiveBitrateConfig mConfig;
+
+    private long mCongestedSince = NEVER;
+    private long mClearSince = NEVER;
+    private long mLastSwitch = NEVER;
+
+    public HysteresisPolicy(AdaptiveBitrateConfig config) {
+        mConfig = config;
+    }
+
+    @Override
+    public int evaluate(BitrateLadder ladder, int current, double throughput, long queueSize, long now) {
+
+        BitrateLadder.Rung rung = ladder.get(current);
+        boolean congested = queueSize > mConfig.queueHigh
+                || (queueSize > mConfig.queueLow && throughput < rung.bitrate * mConfig.downThreshold);
+        boolean clear = queueSize <= mConfig.queueLow;
+
+        if (congested) {
+            mClearSince = NEVER;
+            if (mCongestedSince == NEVER) {
+                mCongestedSince = now;
+            }
+        }
+        else if (clear) {
+            mCongestedSince = NEVER;
+            if (mClearSince == NEVER) {
+                mClearSince = now;
+            }
+        }
+        else {
+            mCongestedSince = NEVER;
+            mClearSince = NEVER;
+        }
+
+        boolean dwelled = mLastSwitch == NEVER || now - mLastSwitch >= mConfig.minDwellTime;
+        if (!dwelled) {
+            return current;
+        }
+
+        if (mCongestedSince != NEVER && now - mCongestedSince >= mConfig.downgradeHoldTime
+                && current < ladder.size() - 1) {
+            return switched(now, current + 1);
+        }
+        if (mClearSince != NEVER && now - mClearSince >= mConfig.upgradeHoldTime && current > 0) {
+            return switched(now, current - 1);
+        }
+        return current;
+
+    }
+
+    @Override
+    public void reset() {
+        mCongestedSince = NEVER;
+        mClearSince = NEVER;
+        mLastSwitch = NEVER;
+    }
+
+    private int switched(long now, int rung) {
+        mLastSwitch = now;
+        mCongestedSince = NEVER;
+        mClearSince = NEVER;
+        return rung;
+    }
+
+}
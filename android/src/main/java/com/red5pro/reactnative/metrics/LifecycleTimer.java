@@ -0,0 +1,105 @@
+package com.red5pro.reactnative.metrics;
+
+/**
+ * Monotonic timestamps for the lifecycle of one view. Each completed phase is recorded
+ * into the {@link MetricsRegistry} and kept for the view's next summary.
+ */
+
+public class LifecycleTimer {
+
+    public enum Mark {
+        CONFIGURATION_RECEIVED,
+        CONFIGURED,
+        COMMAND_RECEIVED,
+        COMMAND_STARTED,
+        CONNECTED,
+        STREAMING
+    }
+
+    private static final long UNSET = -1;
+
+    private final MetricsRegistry mRegistry;
+    private final long[] mMarks = new long[Mark.values().length];
+    private final long[] mDurations = new long[MetricsRegistry.Phase.values().length];
+
+    public LifecycleTimer() {
+        this(MetricsRegistry.getInstance());
+    }
+
+    public LifecycleTimer(MetricsRegistry registry) {
+        mRegistry = registry;
+        reset();
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < mMarks.length; i++) {
+            mMarks[i] = UNSET;
+        }
+        for (int i = 0; i < mDurations.length; i++) {
+            mDurations[i] = UNSET;
+        }
+    }
+
+    /**
+     * Stamps the mark and clears every later mark, so a new command or configuration
+     * starts a fresh timeline.
+     *
+     * Once the timeline has reached STREAMING, CONNECTED and STREAMING are ignored until
+     * an earlier mark starts a new one: a reconnect or a variant switch of a running stream
+     * is not part of its startup.
+     */
+    public synchronized void mark(Mark mark) {
+
+        if ((mark == Mark.CONNECTED || mark == Mark.STREAMING)
+                && mMarks[Mark.STREAMING.ordinal()] != UNSET) {
+            return;
+        }
+        long now = System.nanoTime();
+        mMarks[mark.ordinal()] = now;
+        for (int i = mark.ordinal() + 1; i < mMarks.length; i++) {
+            mMarks[i] = UNSET;
+        }
+        switch (mark) {
+            case CONFIGURED:
+                complete(MetricsRegistry.Phase.CONFIGURE, Mark.CONFIGURATION_RECEIVED, now);
+                break;
+            case COMMAND_STARTED:
+                complete(MetricsRegistry.Phase.DISPATCH, Mark.COMMAND_RECEIVED, now);
+                break;
+            case CONNECTED:
+                complete(MetricsRegistry.Phase.CONNECT, Mark.COMMAND_STARTED, now);
+                break;
+            case STREAMING:
+                complete(MetricsRegistry.Phase.START, Mark.CONNECTED, now);
+                complete(MetricsRegistry.Phase.STARTUP, Mark.COMMAND_RECEIVED, now);
+                break;
+            default:
+                break;
+        }
+
+    }
+
+    public synchronized boolean isMarked(Mark mark) {
+        return mMarks[mark.ordinal()] != UNSET;
+    }
+
+    /**
+     * @return the last measured duration of the phase in nanoseconds, or -1 if not measured.
+     */
+    public synchronized long getDuration(MetricsRegistry.Phase phase) {
+        return mDurations[phase.ordinal()];
+    }
+
+    private void complete(MetricsRegistry.Phase phase, Mark from, long now) {
+
+        long start = mMarks[from.ordinal()];
+        if (start == UNSET) {
+            return;
+        }
+        long duration = now - start;
+        mDurations[phase.ordinal()] = duration;
+        mRegistry.record(phase, duration);
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.red5pro.reactnative.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Process-wide latency histograms for each phase of the publish/subscribe lifecycle,
+ * aggregated across every view.
+ */
+
+public class MetricsRegistry {
+
+    public enum Phase {
+
+        /**
+         * `configuration` prop received until the connection and stream are set up.
+         */
+        CONFIGURE("configure"),
+        /**
+         * `subscribe`/`publish` command received until the worker starts running it.
+         */
+        DISPATCH("dispatch"),
+        /**
+         * Worker starts the command until the CONNECTED event.
+         */
+        CONNECT("connect"),
+        /**
+         * CONNECTED until START_STREAMING.
+         */
+        START("start"),
+        /**
+         * `subscribe`/`publish` command received until START_STREAMING.
+         */
+        STARTUP("startup");
+
+        private final String mName;
+
+        Phase(final String name) {
+            mName = name;
+        }
+
+        @Override
+        public String toString() {
+            return mName;
+        }
+
+    }
+
+    private static MetricsRegistry sInstance;
+
+    private final Map<Phase, LatencyHistogram> mHistograms = new EnumMap<>(Phase.class);
+
+    public static synchronized MetricsRegistry getInstance() {
+        if (sInstance == null) {
+            sInstance = new MetricsRegistry();
+        }
+        return sInstance;
+    }
+
+    MetricsRegistry() {
+        for (Phase phase : Phase.values()) {
+            mHistograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public LatencyHistogram getHistogram(Phase phase) {
+        return mHistograms.get(phase);
+    }
+
+    public void record(Phase phase, long nanos) {
+        mHistograms.get(phase).recordNanos(nanos);
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : mHistograms.values()) {
+            histogram.reset();
+        }
+    }
+
+}
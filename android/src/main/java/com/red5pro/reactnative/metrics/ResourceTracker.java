@@ -0,0 +1,90 @@
+package com.red5pro.reactnative.metrics;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Process-wide counts of the native resources held by views.
+ *
+ * Views count a resource when they take ownership of it and uncount it when they release
+ * it, so once every view has been dropped all live counts are back at zero. A negative
+ * count means a resource was released twice.
+ */
+
+public class ResourceTracker {
+
+    public enum Resource {
+
+        CAMERA("camera"),
+        MICROPHONE("microphone"),
+        STREAM("stream"),
+        CONNECTION("connection"),
+        SURFACE("surface");
+
+        private final String mName;
+
+        Resource(final String name) {
+            mName = name;
+        }
+
+        @Override
+        public String toString() {
+            return mName;
+        }
+
+    }
+
+    private static ResourceTracker sInstance;
+
+    private final AtomicIntegerArray mLive = new AtomicIntegerArray(Resource.values().length);
+    private final AtomicLongArray mAcquired = new AtomicLongArray(Resource.values().length);
+
+    public static synchronized ResourceTracker getInstance() {
+        if (sInstance == null) {
+            sInstance = new ResourceTracker();
+        }
+        return sInstance;
+    }
+
+    ResourceTracker() {
+    }
+
+    public void acquire(Resource resource) {
+        mLive.incrementAndGet(resource.ordinal());
+        mAcquired.incrementAndGet(resource.ordinal());
+    }
+
+    public void release(Resource resource) {
+        mLive.decrementAndGet(resource.ordinal());
+    }
+
+    public int getLiveCount(Resource resource) {
+        return mLive.get(resource.ordinal());
+    }
+
+    /**
+     * @return the number of times the resource has been acquired since the last reset.
+     */
+    public long getAcquiredCount(Resource resource) {
+        return mAcquired.get(resource.ordinal());
+    }
+
+    /**
+     * @return the sum of all live counts; zero when nothing is leaked.
+     */
+    public int getTotalLiveCount() {
+        int total = 0;
+        for (int i = 0; i < mLive.length(); i++) {
+            total += mLive.get(i);
+        }
+        return total;
+    }
+
+    public void reset() {
+        for (int i = 0; i < mLive.length(); i++) {
+            mLive.set(i, 0);
+            mAcquired.set(i, 0);
+        }
+    }
+
+}
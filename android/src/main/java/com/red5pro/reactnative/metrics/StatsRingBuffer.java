@@ -0,0 +1,111 @@
+package com.red5pro.reactnative.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size, lock-free ring of stream stats samples for one producer and one consumer.
+ *
+ * Samples are rows of {@link #FIELD_COUNT} doubles stored in a single preallocated array,
+ * so neither side allocates. The producer publishes a row by advancing the head sequence
+ * after writing it; the consumer frees rows by advancing the tail. When the consumer falls
+ * a full ring behind, new samples are dropped and counted rather than overwriting rows
+ * that may be being read.
+ */
+
+public class StatsRingBuffer {
+
+    public static final int TIME = 0;
+    public static final int BITRATE = 1;
+    public static final int FRAMERATE = 2;
+    public static final int BUFFER = 3;
+    public static final int QUEUE = 4;
+    public static final int DROPPED = 5;
+    public static final int LATENCY = 6;
+    public static final int FIELD_COUNT = 7;
+
+    /**
+     * Field names indexed by field, as reported to JS.
+     */
+    public static final String[] FIELD_NAMES = {
+            "time", "bitrate", "framerate", "buffer", "queue", "dropped", "latency"
+    };
+
+    public interface Reader {
+        /**
+         * @param values backing array; the sample occupies FIELD_COUNT values from offset.
+         */
+        void onSample(double[] values, int offset);
+    }
+
+    private final double[] mValues;
+    private final int mCapacity;
+    private final int mMask;
+
+    // Next sequence to write, owned by the producer.
+    private final AtomicLong mHead = new AtomicLong();
+    // Next sequence to read, owned by the consumer.
+    private final AtomicLong mTail = new AtomicLong();
+    private final AtomicLong mOverflowCount = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two.
+     */
+    public StatsRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        mCapacity = size;
+        mMask = size - 1;
+        mValues = new double[size * FIELD_COUNT];
+    }
+
+    /**
+     * Producer side. Copies FIELD_COUNT values of sample into the ring.
+     *
+     * @return false if the ring was full and the sample was dropped.
+     */
+    public boolean offer(double[] sample) {
+
+        long head = mHead.get();
+        if (head - mTail.get() >= mCapacity) {
+            mOverflowCount.incrementAndGet();
+            return false;
+        }
+        System.arraycopy(sample, 0, mValues, (int) (head & mMask) * FIELD_COUNT, FIELD_COUNT);
+        mHead.lazySet(head + 1);
+        return true;
+
+    }
+
+    /**
+     * Consumer side. Hands up to max pending samples to reader, oldest first.
+     *
+     * @return the number of samples read.
+     */
+    public int drain(Reader reader, int max) {
+
+        long tail = mTail.get();
+        int count = (int) Math.min(max, mHead.get() - tail);
+        for (int i = 0; i < count; i++) {
+            reader.onSample(mValues, (int) ((tail + i) & mMask) * FIELD_COUNT);
+        }
+        mTail.lazySet(tail + count);
+        return count;
+
+    }
+
+    public int size() {
+        return (int) (mHead.get() - mTail.get());
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    public long getWrittenCount() {
+        return mHead.get();
+    }
+
+    public long getOverflowCount() {
+        return mOverflowCount.get();
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.red5pro.reactnative.metrics;
+
+import android.os.SystemClock;
+
+import com.red5pro.streaming.R5Stream;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically reads R5Stream stats into a {@link StatsRingBuffer}.
+ *
+ * All samplers share one background thread, which is the ring's only producer. Counters the
+ * SDK reports cumulatively (frames, dropped packets) are turned into per-interval values.
+ * Every batchSize samples the listener is told a batch is ready; it is expected to drain the
+ * ring from a single consumer thread.
+ */
+
+public class StatsSampler {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private static ScheduledExecutorService sExecutor;
+
+    public interface Listener {
+        void onStatsBatch(StatsSampler sampler);
+    }
+
+    private final StatsRingBuffer mBuffer;
+    private final Listener mListener;
+    private final double[] mSample = new double[StatsRingBuffer.FIELD_COUNT];
+
+    private ScheduledFuture<?> mTask;
+    private R5Stream mStream;
+    private boolean mPublisher;
+    private int mBatchSize;
+    private int mPending;
+
+    private boolean mHasBaseline;
+    private long mLastTime;
+    private long mLastFrames;
+    private long mLastDropped;
+
+    public StatsSampler(Listener listener) {
+        this(DEFAULT_CAPACITY, listener);
+    }
+
+    public StatsSampler(int capacity, Listener listener) {
+        mBuffer = new StatsRingBuffer(capacity);
+        mListener = listener;
+    }
+
+    private static synchronized ScheduledExecutorService getExecutor() {
+        if (sExecutor == null) {
+            sExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "R5StatsSampler");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sExecutor;
+    }
+
+    public synchronized void start(R5Stream stream, boolean publisher, long intervalMs, int batchSize) {
+
+        stop();
+        mStream = stream;
+        mPublisher = publisher;
+        mBatchSize = Math.max(1, Math.min(batchSize, mBuffer.getCapacity()));
+        mPending = 0;
+        mHasBaseline = false;
+        mTask = getExecutor().scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                sample();
+            }
+        }, 0, intervalMs, TimeUnit.MILLISECONDS);
+
+    }
+
+    /**
+     * Stops sampling. Samples of an incomplete batch are announced to the listener.
+     */
+    public synchronized void stop() {
+
+        if (mTask == null) {
+            return;
+        }
+        mTask.cancel(false);
+        mTask = null;
+        mStream = null;
+        if (mPending > 0) {
+            mPending = 0;
+            mListener.onStatsBatch(this);
+        }
+
+    }
+
+    public synchronized boolean isRunning() {
+        return mTask != null;
+    }
+
+    public StatsRingBuffer getBuffer() {
+        return mBuffer;
+    }
+
+    private synchronized void sample() {
+
+        R5Stream stream = mStream;
+        if (stream == null) {
+            return;
+        }
+        R5Stream.R5Stats stats = stream.getStats();
+        if (stats == null) {
+            return;
+        }
+
+        long now = SystemClock.elapsedRealtime();
+        long frames = stats.nb_video_frames;
+        long dropped = mPublisher ? stats.publish_pkts_dropped : stats.pkts_video_dropped;
+        if (!mHasBaseline) {
+            // Cumulative counters need a previous reading before they mean anything.
+            mHasBaseline = true;
+            mLastTime = now;
+            mLastFrames = frames;
+            mLastDropped = dropped;
+            return;
+        }
+
+        long elapsed = Math.max(1, now - mLastTime);
+        double[] sample = mSample;
+        sample[StatsRingBuffer.TIME] = now;
+        sample[StatsRingBuffer.BITRATE] = mPublisher ? stats.publish_bitrate : stats.subscribe_bitrate;
+        sample[StatsRingBuffer.FRAMERATE] = (frames - mLastFrames) * 1000.0 / elapsed;
+        sample[StatsRingBuffer.BUFFER] = stats.buffered_time;
+        sample[StatsRingBuffer.QUEUE] = mPublisher ? stats.socket_queue_size : stats.subscribe_queue_size;
+        sample[StatsRingBuffer.DROPPED] = Math.max(0, dropped - mLastDropped);
+        sample[StatsRingBuffer.LATENCY] = mPublisher ? -1 : stats.subscribe_latency;
+        mLastTime = now;
+        mLastFrames = frames;
+        mLastDropped = dropped;
+
+        if (mBuffer.offer(sample) && ++mPending >= mBatchSize) {
+            mPending = 0;
+            mListener.onStatsBatch(this);
+        }
+
+    }
+
+}
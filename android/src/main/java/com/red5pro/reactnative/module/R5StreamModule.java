@@ -0,0 +1,364 @@
+package com.red5pro.reactnative.module;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+import com.red5pro.reactnative.metrics.LifecycleTimer;
+import com.red5pro.reactnative.metrics.MetricsRegistry;
+import com.red5pro.reactnative.metrics.ResourceTracker;
+import com.red5pro.reactnative.stream.FakeStreamProvider;
+import com.red5pro.reactnative.stream.R5ConfigurationCache;
+import com.red5pro.reactnative.trace.Trace;
+import com.red5pro.reactnative.trace.TraceBuffer;
+import com.red5pro.reactnative.trace.TraceEvent;
+import com.red5pro.reactnative.view.R5CommandWorker;
+import com.red5pro.reactnative.view.R5LoadHarness;
+import com.red5pro.reactnative.view.R5SessionRegistry;
+import com.red5pro.reactnative.view.R5VideoViewLayout;
+import com.red5pro.streaming.R5Stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Bulk access to every mounted R5VideoView in one bridge call.
+ *
+ * `queryStreams` returns the state of all views as a single flat numeric array with one row
+ * of {@link #FIELDS} per view, so a grid of N views costs one round-trip instead of N.
+ * `applyControls` runs a batch of control operations against any number of views in one
+ * main-thread pass. `configureTrace` and `dumpTrace` control and read the {@link Trace}.
+ * `runLoadTest` measures the view layer against simulated streams.
+ */
+
+public class R5StreamModule extends ReactContextBaseJavaModule {
+
+    private static final String NAME = "R5StreamModule";
+
+    private static final String OP_MUTE_AUDIO = "muteAudio";
+    private static final String OP_MUTE_VIDEO = "muteVideo";
+    private static final String OP_BITRATE = "bitrate";
+    private static final String OP_FRAMERATE = "framerate";
+    private static final String OP_SCALE_MODE = "scaleMode";
+
+    private static final String TRACE_FILE_NAME = "r5pro-trace.bin";
+    private static final int DEFAULT_TRACE_FILE_RECORDS = 16384;
+
+    private static final int DEFAULT_LOAD_TEST_VIEWS = 100;
+    private static final int DEFAULT_LOAD_TEST_DURATION = 5000;
+
+    static final String[] TRACE_FIELDS = {
+            "time", "event", "tag", "level", "code", "value"
+    };
+
+    /**
+     * Columns of each row returned by queryStreams. Flags are 0 or 1, durations are in
+     * milliseconds and -1 when not measured, stats are 0 when not streaming. Command
+     * columns count the view's queued commands and cancelled start/stop pairs.
+     */
+    static final String[] FIELDS = {
+            "tag", "publisher", "streaming",
+            "bitrate", "bufferTime", "queueSize",
+            "videoDropped", "audioDropped", "latency",
+            "bytesSent", "bytesReceived",
+            "connectTime", "startupTime",
+            "commandDepth", "maxCommandDepth", "collapsedCommands"
+    };
+
+    private final R5SessionRegistry mRegistry;
+
+    public R5StreamModule(ReactApplicationContext context, R5SessionRegistry registry) {
+        super(context);
+        mRegistry = registry;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @ReactMethod
+    public void queryStreams(Promise promise) {
+
+        List<R5SessionRegistry.Session> sessions = mRegistry.getSessions();
+        WritableArray fields = new WritableNativeArray();
+        for (String field : FIELDS) {
+            fields.pushString(field);
+        }
+        WritableArray values = new WritableNativeArray();
+        WritableArray streamNames = new WritableNativeArray();
+
+        for (R5SessionRegistry.Session session : sessions) {
+
+            R5VideoViewLayout view = session.view;
+            R5Stream.R5Stats stats = view.getStreamStats();
+            LifecycleTimer timer = view.getLifecycleTimer();
+            boolean publisher = view.isPublisher();
+
+            values.pushInt(session.tag);
+            values.pushInt(publisher ? 1 : 0);
+            values.pushInt(view.isStreaming() ? 1 : 0);
+            if (stats != null) {
+                values.pushDouble(publisher ? stats.publish_bitrate : stats.subscribe_bitrate);
+                values.pushDouble(stats.buffered_time);
+                values.pushDouble(publisher ? stats.socket_queue_size : stats.subscribe_queue_size);
+                values.pushDouble(publisher ? stats.publish_pkts_dropped : stats.pkts_video_dropped);
+                values.pushDouble(stats.pkts_audio_dropped);
+                values.pushDouble(publisher ? -1 : stats.subscribe_latency);
+                values.pushDouble(stats.total_bytes_sent);
+                values.pushDouble(stats.total_bytes_received);
+            }
+            else {
+                for (int i = 0; i < 8; i++) {
+                    values.pushInt(0);
+                }
+            }
+            values.pushDouble(toMillis(timer.getDuration(MetricsRegistry.Phase.CONNECT)));
+            values.pushDouble(toMillis(timer.getDuration(MetricsRegistry.Phase.STARTUP)));
+            R5CommandWorker worker = view.getCommandWorker();
+            values.pushInt(worker.getDepth());
+            values.pushInt(worker.getMaxDepth());
+            values.pushDouble(worker.getCollapsedCount());
+            streamNames.pushString(view.getStreamName());
+
+        }
+
+        R5SessionRegistry.Accounting accounting = mRegistry.getAccounting();
+        WritableMap totals = new WritableNativeMap();
+        totals.putInt("sessions", accounting.sessions);
+        totals.putInt("activeStreams", accounting.activeStreams);
+        totals.putInt("activePublishers", accounting.activePublishers);
+        totals.putInt("activeDecoders", accounting.activeDecoders);
+        totals.putDouble("totalBitrate", accounting.totalBitrate);
+        totals.putDouble("configurationHits", R5ConfigurationCache.getInstance().getHitCount());
+        totals.putDouble("configurationMisses", R5ConfigurationCache.getInstance().getMissCount());
+
+        ResourceTracker tracker = ResourceTracker.getInstance();
+        WritableMap resources = new WritableNativeMap();
+        for (ResourceTracker.Resource resource : ResourceTracker.Resource.values()) {
+            resources.putInt(resource.toString(), tracker.getLiveCount(resource));
+        }
+
+        WritableMap result = new WritableNativeMap();
+        result.putArray("fields", fields);
+        result.putArray("values", values);
+        result.putArray("streamNames", streamNames);
+        result.putMap("totals", totals);
+        result.putMap("resources", resources);
+        promise.resolve(result);
+
+    }
+
+    /**
+     * Applies operations of the form {tags: [..], op: "muteAudio", value: true}. Resolves with
+     * an array holding, per operation, the number of views it was applied to.
+     */
+    @ReactMethod
+    public void applyControls(final ReadableArray operations, final Promise promise) {
+
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                WritableArray applied = new WritableNativeArray();
+                try {
+                    for (int i = 0; i < operations.size(); i++) {
+                        applied.pushInt(applyControl(operations.getMap(i)));
+                    }
+                } catch (RuntimeException e) {
+                    promise.reject("E_CONTROL", e);
+                    return;
+                }
+                promise.resolve(applied);
+            }
+        });
+
+    }
+
+    /**
+     * Sets the trace level and, with {file: true}, starts writing records to a rolling file
+     * of fileRecords records in the app's files directory. Resolves with the file path.
+     */
+    @ReactMethod
+    public void configureTrace(ReadableMap options, Promise promise) {
+
+        if (options.hasKey("level")) {
+            Trace.setLevel(options.getInt("level"));
+        }
+        if (options.hasKey("file")) {
+            if (!options.getBoolean("file")) {
+                Trace.closeFile();
+            }
+            else {
+                int records = options.hasKey("fileRecords")
+                        ? Math.max(1, options.getInt("fileRecords"))
+                        : DEFAULT_TRACE_FILE_RECORDS;
+                try {
+                    Trace.openFile(new File(getReactApplicationContext().getFilesDir(), TRACE_FILE_NAME), records);
+                } catch (IOException e) {
+                    promise.reject("E_TRACE", e);
+                    return;
+                }
+            }
+        }
+        File path = Trace.getFilePath();
+        promise.resolve(path != null ? path.getAbsolutePath() : null);
+
+    }
+
+    /**
+     * Resolves with the retained trace records as one flat array of {@link #TRACE_FIELDS}
+     * rows, oldest first. With {file: true} the records are read from the trace file, which
+     * also holds those of earlier runs.
+     */
+    @ReactMethod
+    public void dumpTrace(ReadableMap options, Promise promise) {
+
+        boolean fromFile = options.hasKey("file") && options.getBoolean("file");
+        TraceBuffer buffer = fromFile ? Trace.getFile() : Trace.getRing();
+        if (buffer == null) {
+            promise.reject("E_TRACE", "No trace file is open.");
+            return;
+        }
+
+        WritableArray fields = new WritableNativeArray();
+        for (String field : TRACE_FIELDS) {
+            fields.pushString(field);
+        }
+        final WritableArray values = new WritableNativeArray();
+        int count = buffer.read(new TraceBuffer.Reader() {
+            @Override
+            public void onRecord(long time, int event, int tag, int level, int code, long value) {
+                values.pushDouble(time);
+                values.pushInt(event);
+                values.pushInt(tag);
+                values.pushInt(level);
+                values.pushInt(code);
+                values.pushDouble(value);
+            }
+        });
+        WritableMap events = new WritableNativeMap();
+        for (TraceEvent event : TraceEvent.values()) {
+            events.putString(String.valueOf(event.getId()), event.toString());
+        }
+
+        WritableMap result = new WritableNativeMap();
+        result.putArray("fields", fields);
+        result.putArray("values", values);
+        result.putMap("events", events);
+        result.putInt("count", count);
+        result.putDouble("written", buffer.getWrittenCount());
+        promise.resolve(result);
+
+    }
+
+    /**
+     * Plays {views} simulated subscriber streams from a {@link FakeStreamProvider} for
+     * {durationMs} on a background thread and resolves with the {@link R5LoadHarness.Result}.
+     * Needs no server; mounted views are not affected.
+     */
+    @ReactMethod
+    public void runLoadTest(ReadableMap options, final Promise promise) {
+
+        final int views = options.hasKey("views")
+                ? Math.max(1, options.getInt("views"))
+                : DEFAULT_LOAD_TEST_VIEWS;
+        final int duration = options.hasKey("durationMs")
+                ? Math.max(0, options.getInt("durationMs"))
+                : DEFAULT_LOAD_TEST_DURATION;
+        final FakeStreamProvider.Script script = new FakeStreamProvider.Script();
+        if (options.hasKey("metadataInterval")) {
+            script.metadataInterval = options.getInt("metadataInterval");
+        }
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                FakeStreamProvider provider = new FakeStreamProvider(script,
+                        Runtime.getRuntime().availableProcessors());
+                try {
+                    R5LoadHarness harness = new R5LoadHarness(getReactApplicationContext(), provider);
+                    promise.resolve(harness.run(views, duration).toMap());
+                } catch (InterruptedException e) {
+                    promise.reject("E_LOAD_TEST", e);
+                } catch (RuntimeException e) {
+                    promise.reject("E_LOAD_TEST", e);
+                } finally {
+                    provider.shutdown();
+                }
+            }
+        }, "R5LoadTest").start();
+
+    }
+
+    private int applyControl(ReadableMap operation) {
+
+        String op = operation.getString("op");
+        ReadableArray tags = operation.hasKey("tags") ? operation.getArray("tags") : null;
+        int count = 0;
+
+        List<R5SessionRegistry.Session> sessions = mRegistry.getSessions();
+        for (R5SessionRegistry.Session session : sessions) {
+            if (tags != null && !contains(tags, session.tag)) {
+                continue;
+            }
+            if (applyControl(session.view, op, operation)) {
+                count++;
+            }
+        }
+        return count;
+
+    }
+
+    private boolean applyControl(R5VideoViewLayout view, String op, ReadableMap operation) {
+
+        if (OP_MUTE_AUDIO.equals(op)) {
+            return view.setAudioMuted(operation.getBoolean("value"));
+        }
+        else if (OP_MUTE_VIDEO.equals(op)) {
+            return view.setVideoMuted(operation.getBoolean("value"));
+        }
+        else if (OP_BITRATE.equals(op)) {
+            if (!view.isPublisher()) {
+                return false;
+            }
+            view.updatePublishBitrate(operation.getInt("value"));
+            return true;
+        }
+        else if (OP_FRAMERATE.equals(op)) {
+            if (!view.isPublisher()) {
+                return false;
+            }
+            view.updatePublishFramerate(operation.getInt("value"));
+            return true;
+        }
+        else if (OP_SCALE_MODE.equals(op)) {
+            view.updateScaleMode(operation.getInt("value"));
+            return true;
+        }
+        throw new IllegalArgumentException("Unknown control operation: " + op);
+
+    }
+
+    private static boolean contains(ReadableArray tags, int tag) {
+        for (int i = 0; i < tags.size(); i++) {
+            if (tags.getType(i) == ReadableType.Number && tags.getInt(i) == tag) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos < 0 ? -1 : nanos / 1000000.0;
+    }
+
+}
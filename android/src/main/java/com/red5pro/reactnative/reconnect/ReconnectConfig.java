@@ -0,0 +1,35 @@
+package com.red5pro.reactnative.reconnect;
+
+/**
+ * Tunables of the reconnect scheduler. Delays grow exponentially from initialDelay up to
+ * maxDelay and are spread by a random jitter, so that many clients dropped by the same
+ * outage do not all retry in lock step.
+ */
+
+public class ReconnectConfig {
+
+    /**
+     * Delay before the first attempt, in ms.
+     */
+    public long initialDelay = 500;
+    /**
+     * Upper bound of a single delay, in ms, before jitter.
+     */
+    public long maxDelay = 15000;
+    public double multiplier = 2.0;
+    /**
+     * Fraction of each delay that is randomised, in [0, 1]. 0.2 spreads a 1000 ms delay
+     * over 800-1200 ms.
+     */
+    public double jitter = 0.2;
+
+    /**
+     * Attempts made before giving up; 0 means unlimited within the deadline.
+     */
+    public int maxAttempts = 8;
+    /**
+     * Time after the disconnect beyond which no attempt is started, in ms; 0 means no deadline.
+     */
+    public long deadline = 60000;
+
+}
@@ -0,0 +1,174 @@
+package com.red5pro.reactnative.reconnect;
+
+import java.util.Random;
+
+/**
+ * Schedules reconnect attempts with exponential backoff and jitter, within an attempt and
+ * time budget.
+ *
+ * The scheduler owns no thread: time and delayed execution come from a {@link Timer}, so
+ * the whole sequence can be driven on a plain JVM with a timer whose clock is advanced by
+ * hand.
+ */
+
+public class ReconnectScheduler {
+
+    public interface Timer {
+        long now();
+        void schedule(Runnable task, long delayMs);
+        void cancel(Runnable task);
+    }
+
+    public interface Listener {
+        /**
+         * Time to make the attempt. Its outcome must be reported through
+         * {@link #onAttemptFailed(String)} or {@link #onConnected()}.
+         */
+        void onReconnectAttempt(int attempt, long delayMs);
+        void onReconnectFailed(int attempts, long elapsedMs, String reason);
+    }
+
+    private final ReconnectConfig mConfig;
+    private final Timer mTimer;
+    private final Random mRandom;
+    private Listener mListener;
+
+    private boolean mActive;
+    private int mAttempt;
+    private long mStartedAt;
+    private long mLastDelay;
+
+    public ReconnectScheduler(ReconnectConfig config, Timer timer, Random random) {
+        mConfig = config;
+        mTimer = timer;
+        mRandom = random;
+    }
+
+    public synchronized void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Starts a reconnect sequence after a connection loss. Ignored while one is running.
+     */
+    public synchronized void start() {
+
+        if (mActive) {
+            return;
+        }
+        mActive = true;
+        mAttempt = 0;
+        mStartedAt = mTimer.now();
+        scheduleNext(null);
+
+    }
+
+    public synchronized void onAttemptFailed(String reason) {
+        if (mActive) {
+            scheduleNext(reason);
+        }
+    }
+
+    /**
+     * Ends the sequence successfully.
+     *
+     * @return the number of attempts it took.
+     */
+    public synchronized int onConnected() {
+        int attempts = mAttempt;
+        stop();
+        return attempts;
+    }
+
+    public synchronized void cancel() {
+        stop();
+    }
+
+    /**
+     * Ends a running sequence as failed, reporting reason to the listener as if the
+     * scheduler had given up by itself. Call it on the thread that makes the attempts, so
+     * that it cannot interleave with one.
+     */
+    public synchronized void abort(String reason) {
+        if (mActive) {
+            giveUp(reason, mTimer.now() - mStartedAt);
+        }
+    }
+
+    public synchronized boolean isActive() {
+        return mActive;
+    }
+
+    public synchronized int getAttempt() {
+        return mAttempt;
+    }
+
+    public synchronized long getElapsed() {
+        return mActive ? mTimer.now() - mStartedAt : 0;
+    }
+
+    /**
+     * @return the jittered backoff delay before the given attempt, counted from 1.
+     */
+    public long delayFor(int attempt) {
+
+        double base = mConfig.initialDelay * Math.pow(mConfig.multiplier, attempt - 1);
+        base = Math.min(base, mConfig.maxDelay);
+        double jitter = Math.max(0, Math.min(1, mConfig.jitter));
+        double factor = 1 + jitter * (2 * mRandom.nextDouble() - 1);
+        return Math.max(0, Math.round(base * factor));
+
+    }
+
+    private void scheduleNext(String reason) {
+
+        long elapsed = mTimer.now() - mStartedAt;
+        if (mConfig.maxAttempts > 0 && mAttempt >= mConfig.maxAttempts) {
+            giveUp(reason != null ? reason : "max attempts", elapsed);
+            return;
+        }
+        long delay = delayFor(mAttempt + 1);
+        if (mConfig.deadline > 0 && elapsed + delay > mConfig.deadline) {
+            giveUp("deadline", elapsed);
+            return;
+        }
+        mLastDelay = delay;
+        mTimer.schedule(fire, delay);
+
+    }
+
+    private void giveUp(String reason, long elapsed) {
+        int attempts = mAttempt;
+        stop();
+        if (mListener != null) {
+            mListener.onReconnectFailed(attempts, elapsed, reason);
+        }
+    }
+
+    private void stop() {
+        mTimer.cancel(fire);
+        mActive = false;
+        mAttempt = 0;
+    }
+
+    private final Runnable fire = new Runnable() {
+        @Override
+        public void run() {
+            int attempt;
+            long delay;
+            Listener listener;
+            synchronized (ReconnectScheduler.this) {
+                if (!mActive) {
+                    return;
+                }
+                attempt = ++mAttempt;
+                delay = mLastDelay;
+                listener = mListener;
+            }
+            if (listener != null) {
+                listener.onReconnectAttempt(attempt, delay);
+            }
+        }
+    };
+
+}
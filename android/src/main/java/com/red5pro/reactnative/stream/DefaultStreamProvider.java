@@ -0,0 +1,39 @@
+package com.red5pro.reactnative.stream;
+
+import com.red5pro.streaming.R5Connection;
+import com.red5pro.streaming.R5Stream;
+import com.red5pro.streaming.config.R5Configuration;
+import com.red5pro.streaming.source.R5Microphone;
+
+/**
+ * Creates the SDK objects that talk to a Red5 Pro server.
+ */
+
+public class DefaultStreamProvider implements R5StreamProvider {
+
+    public static final DefaultStreamProvider INSTANCE = new DefaultStreamProvider();
+
+    protected DefaultStreamProvider() {
+    }
+
+    @Override
+    public R5Connection createConnection(R5Configuration configuration) {
+        return new R5Connection(configuration);
+    }
+
+    @Override
+    public R5Stream createStream(R5Connection connection) {
+        return new R5Stream(connection);
+    }
+
+    @Override
+    public R5Microphone createMicrophone() {
+        return new R5Microphone();
+    }
+
+    @Override
+    public boolean isPoolable() {
+        return true;
+    }
+
+}
@@ -0,0 +1,314 @@
+package com.red5pro.reactnative.stream;
+
+import android.view.SurfaceView;
+
+import com.red5pro.reactnative.metrics.LatencyHistogram;
+import com.red5pro.reactnative.trace.Trace;
+import com.red5pro.reactnative.trace.TraceEvent;
+import com.red5pro.streaming.R5Connection;
+import com.red5pro.streaming.R5Stream;
+import com.red5pro.streaming.config.R5Configuration;
+import com.red5pro.streaming.event.R5ConnectionEvent;
+import com.red5pro.streaming.event.R5ConnectionListener;
+import com.red5pro.streaming.source.R5Microphone;
+import com.red5pro.streaming.source.R5VideoSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates streams that never touch the network. Once played or published, a stream
+ * delivers the {@link Script}'s connection events to its listener and then repeats its
+ * metadata to its client at a fixed rate, the same way the SDK calls them. Stopping it
+ * delivers the script's stop events.
+ *
+ * The streams still load the SDK's native library, but need neither a server nor a
+ * camera; publishers should be run with video disabled.
+ *
+ * The time the listener and client take to handle each callback is recorded, so the cost
+ * of the real view code can be measured under load.
+ */
+
+public class FakeStreamProvider implements R5StreamProvider {
+
+    /**
+     * What fake streams deliver. Changes apply to streams started afterwards.
+     */
+    public static class Script {
+
+        public R5ConnectionEvent[] events = {
+                R5ConnectionEvent.CONNECTED,
+                R5ConnectionEvent.START_STREAMING
+        };
+        /**
+         * Delay before each scripted event, in ms.
+         */
+        public long eventInterval = 50;
+        public String metadata = "orientation=0;width=640;height=360";
+        /**
+         * Period of metadata after the last scripted event, in ms; 0 sends none.
+         */
+        public long metadataInterval = 1000;
+        public R5ConnectionEvent[] stopEvents = {
+                R5ConnectionEvent.DISCONNECTED
+        };
+
+    }
+
+    private final Script mScript;
+    private final ScheduledExecutorService mExecutor;
+
+    private final AtomicLong mStreamCount = new AtomicLong();
+    private final AtomicLong mEventCount = new AtomicLong();
+    private final AtomicLong mMetaDataCount = new AtomicLong();
+    private final LatencyHistogram mCallbackLatency = new LatencyHistogram();
+
+    public FakeStreamProvider(Script script, int threads) {
+        mScript = script;
+        mExecutor = Executors.newScheduledThreadPool(Math.max(1, threads), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "R5FakeStream");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    @Override
+    public R5Connection createConnection(R5Configuration configuration) {
+        // Never connected; it only carries the configuration.
+        return new R5Connection(configuration);
+    }
+
+    @Override
+    public R5Stream createStream(R5Connection connection) {
+        mStreamCount.incrementAndGet();
+        return new FakeStream(connection, this);
+    }
+
+    @Override
+    public R5Microphone createMicrophone() {
+        return new R5Microphone();
+    }
+
+    @Override
+    public boolean isPoolable() {
+        return false;
+    }
+
+    public Script getScript() {
+        return mScript;
+    }
+
+    public long getStreamCount() {
+        return mStreamCount.get();
+    }
+
+    /**
+     * @return connection events delivered by all streams.
+     */
+    public long getEventCount() {
+        return mEventCount.get();
+    }
+
+    /**
+     * @return metadata callbacks delivered by all streams.
+     */
+    public long getMetaDataCount() {
+        return mMetaDataCount.get();
+    }
+
+    /**
+     * @return time taken by listeners and clients to handle the callbacks of all streams.
+     */
+    public LatencyHistogram getCallbackLatency() {
+        return mCallbackLatency;
+    }
+
+    /**
+     * Stops all streams of this provider for good.
+     */
+    public void shutdown() {
+        mExecutor.shutdownNow();
+    }
+
+    public static class FakeStream extends R5Stream {
+
+        private final FakeStreamProvider mProvider;
+        private final List<ScheduledFuture<?>> mTasks = new ArrayList<>();
+        private final R5Stats mStats = new R5Stats();
+        private boolean mStarted;
+
+        FakeStream(R5Connection connection, FakeStreamProvider provider) {
+            super(connection);
+            mProvider = provider;
+        }
+
+        @Override
+        public void play(String streamName) {
+            start();
+        }
+
+        @Override
+        public void publish(String streamName, RecordType type) {
+            start();
+        }
+
+        @Override
+        public synchronized void stop() {
+
+            cancelTasks();
+            if (!mStarted) {
+                return;
+            }
+            mStarted = false;
+            schedule(mProvider.mScript.stopEvents, mProvider.mScript.eventInterval);
+
+        }
+
+        private synchronized void start() {
+
+            cancelTasks();
+            mStarted = true;
+            Script script = mProvider.mScript;
+            long delay = schedule(script.events, script.eventInterval);
+            if (script.metadata != null && script.metadataInterval > 0) {
+                final String metadata = script.metadata;
+                mTasks.add(mProvider.mExecutor.scheduleAtFixedRate(new Runnable() {
+                    @Override
+                    public void run() {
+                        deliverMetaData(metadata);
+                    }
+                }, delay + script.metadataInterval, script.metadataInterval, TimeUnit.MILLISECONDS));
+            }
+
+        }
+
+        /**
+         * @return the delay of the last event scheduled.
+         */
+        private long schedule(R5ConnectionEvent[] events, long interval) {
+
+            long delay = 0;
+            for (final R5ConnectionEvent event : events) {
+                delay += interval;
+                mTasks.add(mProvider.mExecutor.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        deliverEvent(event);
+                    }
+                }, delay, TimeUnit.MILLISECONDS));
+            }
+            return delay;
+
+        }
+
+        private void cancelTasks() {
+            for (ScheduledFuture<?> task : mTasks) {
+                task.cancel(false);
+            }
+            mTasks.clear();
+        }
+
+        private void deliverEvent(R5ConnectionEvent event) {
+            R5ConnectionListener target = listener;
+            if (target != null) {
+                mProvider.mEventCount.incrementAndGet();
+                long start = System.nanoTime();
+                target.onConnectionEvent(event);
+                mProvider.mCallbackLatency.recordNanos(System.nanoTime() - start);
+            }
+        }
+
+        private void deliverMetaData(String metadata) {
+
+            Object target = client;
+            if (target == null) {
+                return;
+            }
+            Method method;
+            try {
+                method = target.getClass().getMethod("onMetaData", String.class);
+            } catch (NoSuchMethodException e) {
+                // Clients without a handler do not receive metadata, as with the SDK.
+                return;
+            }
+            try {
+                mProvider.mMetaDataCount.incrementAndGet();
+                long start = System.nanoTime();
+                method.invoke(target, metadata);
+                mProvider.mCallbackLatency.recordNanos(System.nanoTime() - start);
+            } catch (IllegalAccessException e) {
+                Trace.error(TraceEvent.STREAM_ERROR, Trace.NO_TAG, 0, e);
+            } catch (InvocationTargetException e) {
+                Trace.error(TraceEvent.STREAM_ERROR, Trace.NO_TAG, 0, e.getCause());
+            }
+
+        }
+
+        // Everything below would reach the native stream; a fake stream has none.
+
+        @Override
+        public void setLogLevel(int level) {
+        }
+
+        @Override
+        public void setScaleMode(int mode) {
+        }
+
+        @Override
+        public int getScaleMode() {
+            return 0;
+        }
+
+        @Override
+        public void setView(SurfaceView view) {
+        }
+
+        @Override
+        public void attachCamera(R5VideoSource source) {
+        }
+
+        @Override
+        public void attachMic(R5Microphone microphone) {
+        }
+
+        @Override
+        public void restrainAudio(boolean restrain) {
+        }
+
+        @Override
+        public void restrainVideo(boolean restrain) {
+        }
+
+        @Override
+        public void updateStreamMeta() {
+        }
+
+        @Override
+        public double getBufferedTime() {
+            return 0;
+        }
+
+        @Override
+        public String getDebugInfo() {
+            return "";
+        }
+
+        @Override
+        public R5Stats getStats() {
+            return mStats;
+        }
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.red5pro.reactnative.stream;
+
+/**
+ * Builds string keys from a sequence of fields. Each field is written with its length in
+ * front of it, so no value can be mistaken for a separator and two different sequences
+ * never produce the same key, whatever characters the values contain.
+ */
+
+final class R5CacheKey {
+
+    private final StringBuilder mBuilder = new StringBuilder(128);
+
+    R5CacheKey add(Object value) {
+
+        if (value == null) {
+            // Lengths start with a digit, so this can not be confused with the string "null".
+            mBuilder.append('-');
+            return this;
+        }
+        String text = String.valueOf(value);
+        mBuilder.append(text.length()).append(':').append(text);
+        return this;
+
+    }
+
+    @Override
+    public String toString() {
+        return mBuilder.toString();
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.red5pro.reactnative.stream;
+
+import com.red5pro.streaming.config.R5Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of R5Configuration objects keyed by their content.
+ *
+ * JS re-renders hand the same configuration values over again as a new map; looking them
+ * up here returns the configuration built the first time, so views can tell by identity
+ * that nothing changed and keep their connection. The least recently used entries are
+ * evicted once the cache is full.
+ */
+
+public class R5ConfigurationCache {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static R5ConfigurationCache sInstance;
+
+    private final Map<String, R5Configuration> mEntries;
+
+    private long mHitCount;
+    private long mMissCount;
+
+    public static synchronized R5ConfigurationCache getInstance() {
+        if (sInstance == null) {
+            sInstance = new R5ConfigurationCache(DEFAULT_CAPACITY);
+        }
+        return sInstance;
+    }
+
+    R5ConfigurationCache(final int capacity) {
+        mEntries = new LinkedHashMap<String, R5Configuration>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, R5Configuration> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return a key that is equal for equal configuration values.
+     */
+    public static String keyOf(String host, int port, String contextName, String streamName,
+                               float bufferTime, float streamBufferTime, String parameters,
+                               String licenseKey, String bundleID) {
+        return new R5CacheKey()
+                .add(host)
+                .add(port)
+                .add(contextName)
+                .add(streamName)
+                .add(parameters)
+                .add(bufferTime)
+                .add(streamBufferTime)
+                .add(licenseKey)
+                .add(bundleID)
+                .toString();
+    }
+
+    /**
+     * @return the configuration cached for key, or null on a miss.
+     */
+    public synchronized R5Configuration get(String key) {
+        R5Configuration configuration = mEntries.get(key);
+        if (configuration != null) {
+            mHitCount++;
+        }
+        else {
+            mMissCount++;
+        }
+        return configuration;
+    }
+
+    public synchronized void put(String key, R5Configuration configuration) {
+        mEntries.put(key, configuration);
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+    }
+
+    public synchronized int size() {
+        return mEntries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.red5pro.reactnative.stream;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.red5pro.streaming.R5StreamProtocol;
+import com.red5pro.streaming.config.R5Configuration;
+
+/**
+ * Builds R5Configuration objects from the configuration prop sent by JS, going through
+ * {@link R5ConfigurationCache} so that equal values yield the same configuration.
+ *
+ * Configurations handed out are shared by every view with the same values and must not be
+ * modified or passed to the SDK; use {@link #copyOf(R5Configuration)} for that.
+ */
+
+public class R5ConfigurationFactory {
+
+    public static final String PROP_HOST = "host";
+    public static final String PROP_PORT = "port";
+    public static final String PROP_CONTEXT_NAME = "contextName";
+    public static final String PROP_STREAM_NAME = "streamName";
+    public static final String PROP_BUFFER_TIME = "bufferTime";
+    public static final String PROP_LICENSE_KEY = "licenseKey";
+    public static final String PROP_BUNDLE_ID = "bundleID";
+    public static final String PROP_PARAMETERS = "parameters";
+    public static final String PROP_STREAM_BUFFER_TIME = "streamBufferTime";
+
+    private final R5ConfigurationCache mCache;
+
+    public R5ConfigurationFactory(R5ConfigurationCache cache) {
+        mCache = cache;
+    }
+
+    /**
+     * @return the configuration for the values of the map, or null if host, port or
+     * contextName is missing.
+     */
+    public R5Configuration fromMap(ReadableMap configuration) {
+
+        boolean hasHost = configuration.hasKey(PROP_HOST);
+        boolean hasPort = configuration.hasKey(PROP_PORT);
+        boolean hasContextName = configuration.hasKey(PROP_CONTEXT_NAME);
+        boolean hasStreamName = configuration.hasKey(PROP_STREAM_NAME);
+        boolean hasBufferTime = configuration.hasKey(PROP_BUFFER_TIME);
+        boolean hasStreamBufferTime = configuration.hasKey(PROP_STREAM_BUFFER_TIME);
+        boolean hasBundleID = configuration.hasKey(PROP_BUNDLE_ID);
+        boolean hasLicenseKey = configuration.hasKey(PROP_LICENSE_KEY);
+        boolean hasParameters = configuration.hasKey(PROP_PARAMETERS);
+
+        boolean hasRequired = hasHost && hasPort && hasContextName;
+
+        if (!hasRequired) {
+            return null;
+        }
+
+        R5StreamProtocol protocol = R5StreamProtocol.RTSP;
+        String host = configuration.getString(PROP_HOST);
+        int port = configuration.getInt(PROP_PORT);
+        String contextName = configuration.getString(PROP_CONTEXT_NAME);
+        String streamName = hasStreamName ? configuration.getString(PROP_STREAM_NAME) : "mystream";
+        String bundleID = hasBundleID ? configuration.getString(PROP_BUNDLE_ID) : "com.red5pro.android";
+        String licenseKey = hasLicenseKey ? configuration.getString(PROP_LICENSE_KEY) : "";
+        float bufferTime = hasBufferTime ? (float) configuration.getDouble(PROP_BUFFER_TIME) : 1.0f;
+        float streamBufferTime = hasStreamBufferTime ? (float) configuration.getDouble(PROP_STREAM_BUFFER_TIME) : 2.0f;
+        String parameters = hasParameters ? configuration.getString(PROP_PARAMETERS) : "";
+
+        // Identical values yield the identical configuration, which views take as unchanged.
+        String key = R5ConfigurationCache.keyOf(host, port, contextName, streamName,
+                bufferTime, streamBufferTime, parameters, licenseKey, bundleID);
+        R5Configuration config = mCache.get(key);
+        if (config != null) {
+            return config;
+        }
+
+        config = new R5Configuration(protocol, host, port, contextName, bufferTime, parameters);
+
+        config.setStreamBufferTime(streamBufferTime);
+        config.setBundleID(bundleID);
+        config.setStreamName(streamName);
+        config.setLicenseKey(licenseKey);
+
+        mCache.put(key, config);
+        return config;
+
+    }
+
+    /**
+     * @return a configuration with the same values that the caller owns.
+     */
+    public static R5Configuration copyOf(R5Configuration configuration) {
+
+        R5Configuration copy = new R5Configuration(configuration.getProtocol(), configuration.getHost(),
+                configuration.getPort(), configuration.getContextName(), configuration.getBufferTime(),
+                configuration.getParameters());
+        copy.setStreamBufferTime(configuration.getStreamBufferTime());
+        copy.setBundleID(configuration.getBundleID());
+        copy.setStreamName(configuration.getStreamName());
+        copy.setLicenseKey(configuration.getLicenseKey());
+        return copy;
+
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.red5pro.reactnative.stream;
+
+import android.annotation.TargetApi;
+import android.hardware.Camera;
+import android.media.MediaCodec;
+import android.os.Build;
+import android.os.Bundle;
+
+import com.red5pro.reactnative.util.CameraIndex;
+import com.red5pro.streaming.source.R5Camera;
+
+/**
+ * R5Camera whose bitrate, framerate and resolution can be changed while publishing.
+ *
+ * The stock `setBitrate` only flags the SDK to rebuild its encoder on the next frame, from
+ * the format it was started with, so the new value never reaches the encoder and every call
+ * costs a keyframe. Here the running encoder is retuned in place on API 19+, and framerate
+ * changes are applied to the camera's preview fps range. A resolution change does need the
+ * rebuild, and is applied through it.
+ */
+
+public class R5LiveCamera extends R5Camera {
+
+    private int mAppliedBitrate;
+    private int mAppliedFramerate;
+
+    public R5LiveCamera(Camera camera, int width, int height) {
+        super(camera, width, height);
+    }
+
+    @Override
+    public void setBitrate(int bitrate) {
+        super.setBitrate(bitrate);
+        mAppliedBitrate = bitrate;
+    }
+
+    @Override
+    public void setFramerate(int framerate) {
+        super.setFramerate(framerate);
+        mAppliedFramerate = framerate;
+    }
+
+    /**
+     * Sets the target video bitrate in kb/s. Before the encoder has started the value is
+     * simply stored for the SDK to pick up.
+     *
+     * @return true if the value is in effect, false if the running encoder could not be
+     * retuned (API < 19, or the encoder is being rebuilt).
+     */
+    public boolean applyBitrate(int bitrate) {
+
+        MediaCodec codec = mediaCodec;
+        if (codec == null) {
+            setBitrate(bitrate);
+            return true;
+        }
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+            return false;
+        }
+        try {
+            retuneEncoder(codec, bitrate);
+        } catch (IllegalStateException e) {
+            return false;
+        }
+        // Once started the SDK keeps the source bitrate in b/s.
+        this.bitrate = bitrate * 1000;
+        mAppliedBitrate = bitrate;
+        return true;
+
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static void retuneEncoder(MediaCodec codec, int bitrate) {
+        Bundle parameters = new Bundle();
+        parameters.putInt(MediaCodec.PARAMETER_KEY_VIDEO_BITRATE, bitrate * 1000);
+        codec.setParameters(parameters);
+    }
+
+    /**
+     * Sets the target framerate and moves the camera to the closest supported preview fps
+     * range. Cameras that refuse the change while previewing have their preview restarted,
+     * which pauses capture briefly but keeps the encoder and stream running.
+     *
+     * @return the framerate the camera now delivers, at most the requested one.
+     */
+    public int applyFramerate(int framerate) {
+
+        setFramerate(framerate);
+        Camera camera = getCamera();
+        if (camera == null) {
+            return framerate;
+        }
+
+        Camera.Parameters parameters = camera.getParameters();
+        int[] range = CameraIndex.selectFpsRange(parameters.getSupportedPreviewFpsRange(), framerate);
+        if (range != null) {
+            parameters.setPreviewFpsRange(range[Camera.Parameters.PREVIEW_FPS_MIN_INDEX],
+                    range[Camera.Parameters.PREVIEW_FPS_MAX_INDEX]);
+            try {
+                camera.setParameters(parameters);
+            } catch (RuntimeException e) {
+                camera.stopPreview();
+                try {
+                    camera.setParameters(parameters);
+                } catch (RuntimeException retry) {
+                    // Unsupported while streaming on this device; keep the current range.
+                }
+                camera.startPreview();
+            }
+        }
+
+        int[] current = new int[2];
+        camera.getParameters().getPreviewFpsRange(current);
+        int delivered = current[Camera.Parameters.PREVIEW_FPS_MAX_INDEX] / 1000;
+        mAppliedFramerate = delivered > 0 ? Math.min(framerate, delivered) : framerate;
+        return mAppliedFramerate;
+
+    }
+
+    /**
+     * Sets the capture size and has the SDK rebuild its encoder at that size on the next
+     * frame. The camera device has to be attached again with {@link #setCamera(Camera)} for
+     * the preview to be resized as well.
+     */
+    public void applyResolution(int width, int height) {
+
+        setWidth(width);
+        setHeight(height);
+        // Flags the rebuild; the bitrate is passed through unchanged, in whatever unit the
+        // SDK currently keeps it.
+        super.setBitrate(bitrate);
+
+    }
+
+    /**
+     * @return the video bitrate in kb/s the encoder is currently targeting.
+     */
+    public int getAppliedBitrate() {
+        return mAppliedBitrate;
+    }
+
+    public int getAppliedFramerate() {
+        return mAppliedFramerate;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.red5pro.reactnative.stream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resolution variants of a subscribed stream, each published under the base stream name
+ * plus a suffix, e.g. "stream1_240p". Subscribers pick the smallest variant that still
+ * fills their view, so a small tile does not download and decode full resolution video.
+ */
+
+public class R5QualityLadder {
+
+    public static class Variant {
+
+        public final String suffix;
+        public final int width;
+        public final int height;
+
+        public Variant(String suffix, int width, int height) {
+            this.suffix = suffix != null ? suffix : "";
+            this.width = width;
+            this.height = height;
+        }
+
+        public String streamNameFor(String baseName) {
+            return baseName + suffix;
+        }
+
+        @Override
+        public String toString() {
+            return width + "x" + height + " '" + suffix + "'";
+        }
+
+    }
+
+    private final List<Variant> mVariants;
+
+    public R5QualityLadder(List<Variant> variants) {
+        if (variants.isEmpty()) {
+            throw new IllegalArgumentException("A ladder needs at least one variant.");
+        }
+        List<Variant> sorted = new ArrayList<>(variants);
+        Collections.sort(sorted, new Comparator<Variant>() {
+            @Override
+            public int compare(Variant a, Variant b) {
+                long pixelsA = (long) a.width * a.height;
+                long pixelsB = (long) b.width * b.height;
+                return pixelsA < pixelsB ? -1 : (pixelsA == pixelsB ? 0 : 1);
+            }
+        });
+        mVariants = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * @return the smallest variant at least as wide and as high as the view, or the largest
+     * if none is. A view without a size yet gets the largest.
+     */
+    public Variant select(int viewWidth, int viewHeight) {
+
+        Variant largest = mVariants.get(mVariants.size() - 1);
+        if (viewWidth <= 0 || viewHeight <= 0) {
+            return largest;
+        }
+        for (Variant variant : mVariants) {
+            if (variant.width >= viewWidth && variant.height >= viewHeight) {
+                return variant;
+            }
+        }
+        return largest;
+
+    }
+
+    /**
+     * @return the variants, smallest first.
+     */
+    public List<Variant> getVariants() {
+        return mVariants;
+    }
+
+}
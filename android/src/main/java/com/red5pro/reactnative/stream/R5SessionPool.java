@@ -0,0 +1,219 @@
+package com.red5pro.reactnative.stream;
+
+import com.red5pro.streaming.R5Connection;
+import com.red5pro.streaming.R5Stream;
+import com.red5pro.streaming.config.R5Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small process-wide pool of warmed, never-started R5Connection/R5Stream pairs.
+ *
+ * Warming builds the connection and stream off the calling thread and resolves the
+ * host, so that a view configured with the same server settings can start from an
+ * existing session instead of paying for that setup when the user taps play. The RTSP
+ * handshake itself is still performed by the SDK on `play`/`publish`.
+ *
+ * Sessions are keyed by the server-facing configuration fields; the stream name is
+ * excluded because it is passed explicitly to `play` and `publish`.
+ */
+
+public class R5SessionPool {
+
+    private static final int DEFAULT_CAPACITY = 4;
+    private static final long DEFAULT_MAX_IDLE_MS = 30000;
+
+    private static R5SessionPool sInstance;
+
+    public static class Session {
+
+        public final String key;
+        public final R5Connection connection;
+        public final R5Stream stream;
+        long idleSince;
+
+        public Session(String key, R5Connection connection, R5Stream stream) {
+            this.key = key;
+            this.connection = connection;
+            this.stream = stream;
+        }
+
+    }
+
+    private final int mCapacity;
+    private final long mMaxIdleMs;
+    private final ArrayDeque<Session> mIdle;
+    private final ScheduledExecutorService mExecutor;
+
+    private boolean mSweepScheduled;
+
+    private long mHitCount;
+    private long mMissCount;
+    private long mEvictedCount;
+
+    public static synchronized R5SessionPool getInstance() {
+        if (sInstance == null) {
+            sInstance = new R5SessionPool(DEFAULT_CAPACITY, DEFAULT_MAX_IDLE_MS);
+        }
+        return sInstance;
+    }
+
+    R5SessionPool(int capacity, long maxIdleMs) {
+        mCapacity = capacity;
+        mMaxIdleMs = maxIdleMs;
+        mIdle = new ArrayDeque<>(capacity);
+        mExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "R5SessionPool");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public static String keyOf(R5Configuration configuration) {
+        return new R5CacheKey()
+                .add(configuration.getProtocol())
+                .add(configuration.getHost())
+                .add(configuration.getPort())
+                .add(configuration.getContextName())
+                .add(configuration.getParameters())
+                .add(configuration.getBufferTime())
+                .add(configuration.getStreamBufferTime())
+                .add(configuration.getLicenseKey())
+                .add(configuration.getBundleID())
+                .toString();
+    }
+
+    /**
+     * Asynchronously prepares a session for the configuration and parks it in the pool.
+     */
+    public void warm(R5Configuration shared) {
+
+        if (shared == null) {
+            return;
+        }
+        // The connection keeps the configuration, so it gets its own copy.
+        final R5Configuration configuration = R5ConfigurationFactory.copyOf(shared);
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    InetAddress.getByName(configuration.getHost());
+                } catch (UnknownHostException e) {
+                    // Resolution is only a warm-up; the SDK reports connection failures itself.
+                }
+                R5Connection connection = new R5Connection(configuration);
+                offer(new Session(keyOf(configuration), connection, new R5Stream(connection)));
+            }
+        });
+
+    }
+
+    /**
+     * @return a warmed session matching the configuration, removed from the pool, or null.
+     */
+    public synchronized Session acquire(R5Configuration configuration) {
+
+        if (configuration == null) {
+            return null;
+        }
+        String key = keyOf(configuration);
+        Iterator<Session> iterator = mIdle.iterator();
+        while (iterator.hasNext()) {
+            Session session = iterator.next();
+            if (session.key.equals(key)) {
+                iterator.remove();
+                mHitCount++;
+                return session;
+            }
+        }
+        mMissCount++;
+        return null;
+
+    }
+
+    /**
+     * Returns an unused session to the pool. Sessions whose stream was ever started must
+     * not be offered.
+     */
+    public synchronized void offer(Session session) {
+
+        session.stream.setListener(null);
+        session.stream.client = null;
+        session.idleSince = System.currentTimeMillis();
+        if (mIdle.size() >= mCapacity) {
+            discard(mIdle.removeFirst());
+        }
+        mIdle.addLast(session);
+        scheduleSweep();
+
+    }
+
+    public synchronized void clear() {
+        while (!mIdle.isEmpty()) {
+            discard(mIdle.removeFirst());
+        }
+    }
+
+    public synchronized int size() {
+        return mIdle.size();
+    }
+
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    public synchronized long getEvictedCount() {
+        return mEvictedCount;
+    }
+
+    private synchronized void sweep() {
+
+        mSweepScheduled = false;
+        long now = System.currentTimeMillis();
+        Iterator<Session> iterator = mIdle.iterator();
+        while (iterator.hasNext()) {
+            Session session = iterator.next();
+            if (now - session.idleSince >= mMaxIdleMs) {
+                iterator.remove();
+                discard(session);
+            }
+        }
+        scheduleSweep();
+
+    }
+
+    private void scheduleSweep() {
+
+        if (mSweepScheduled || mIdle.isEmpty()) {
+            return;
+        }
+        mSweepScheduled = true;
+        mExecutor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                sweep();
+            }
+        }, mMaxIdleMs, TimeUnit.MILLISECONDS);
+
+    }
+
+    private void discard(Session session) {
+        mEvictedCount++;
+        session.connection.removeListener();
+    }
+
+}
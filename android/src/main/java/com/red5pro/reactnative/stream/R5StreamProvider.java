@@ -0,0 +1,28 @@
+package com.red5pro.reactnative.stream;
+
+import com.red5pro.streaming.R5Connection;
+import com.red5pro.streaming.R5Stream;
+import com.red5pro.streaming.config.R5Configuration;
+import com.red5pro.streaming.source.R5Microphone;
+
+/**
+ * Creates the streaming SDK objects a view works with. {@link DefaultStreamProvider} creates
+ * the real ones; {@link FakeStreamProvider} creates streams that play back a script of
+ * connection events without a server.
+ */
+
+public interface R5StreamProvider {
+
+    R5Connection createConnection(R5Configuration configuration);
+
+    R5Stream createStream(R5Connection connection);
+
+    R5Microphone createMicrophone();
+
+    /**
+     * @return true if connections and streams of this provider may be shared through the
+     * {@link R5SessionPool}, which creates real ones.
+     */
+    boolean isPoolable();
+
+}
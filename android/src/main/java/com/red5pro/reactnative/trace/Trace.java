@@ -0,0 +1,129 @@
+package com.red5pro.reactnative.trace;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Process-wide, level-gated trace of binary records.
+ *
+ * Records go to a fixed in-memory ring and, once {@link #openFile} has been called, to a
+ * memory-mapped rolling file as well; mapped records reach the file even if the process
+ * dies. Callers pass only primitives, and a record above the current level costs a single
+ * volatile read, so trace calls can stay in hot paths.
+ */
+
+public final class Trace {
+
+    public static final int OFF = 0;
+    public static final int ERROR = 1;
+    public static final int WARN = 2;
+    public static final int INFO = 3;
+    public static final int DEBUG = 4;
+
+    /**
+     * Tag of records that do not belong to a view.
+     */
+    public static final int NO_TAG = -1;
+
+    private static final String TAG = "R5Trace";
+    private static final int RING_RECORDS = 1024;
+
+    private static volatile int sLevel = ERROR;
+    private static final TraceBuffer sRing = TraceBuffer.allocate(RING_RECORDS);
+    private static volatile TraceBuffer sFile;
+    private static File sFilePath;
+
+    private Trace() {
+    }
+
+    public static void setLevel(int level) {
+        sLevel = level;
+    }
+
+    public static int getLevel() {
+        return sLevel;
+    }
+
+    public static boolean isEnabled(int level) {
+        return level <= sLevel;
+    }
+
+    public static void record(int level, TraceEvent event, int tag, int code, long value) {
+
+        if (level > sLevel) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        sRing.write(now, event.getId(), tag, level, code, value);
+        TraceBuffer file = sFile;
+        if (file != null) {
+            file.write(now, event.getId(), tag, level, code, value);
+        }
+
+    }
+
+    /**
+     * Records an error and logs its stack trace, which does not fit a binary record.
+     */
+    public static void error(TraceEvent event, int tag, int code, Throwable error) {
+
+        if (ERROR > sLevel) {
+            return;
+        }
+        record(ERROR, event, tag, code, 0);
+        Log.e(TAG, event + " (view " + tag + ")", error);
+
+    }
+
+    /**
+     * Starts writing records to a memory-mapped file holding the given number of records.
+     * Records of a previous run left in a file of the same size are kept.
+     */
+    public static synchronized void openFile(File path, int records) throws IOException {
+
+        closeFile();
+        long size = TraceBuffer.HEADER_SIZE + (long) records * TraceBuffer.RECORD_SIZE;
+        boolean resume = path.length() == size;
+        RandomAccessFile file = new RandomAccessFile(path, "rw");
+        try {
+            file.setLength(size);
+            // The mapping stays valid after the file is closed.
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            TraceBuffer trace = new TraceBuffer(buffer);
+            if (!resume) {
+                trace.clear();
+            }
+            sFile = trace;
+            sFilePath = path;
+        } finally {
+            file.close();
+        }
+
+    }
+
+    public static synchronized void closeFile() {
+        sFile = null;
+        sFilePath = null;
+    }
+
+    public static TraceBuffer getRing() {
+        return sRing;
+    }
+
+    /**
+     * @return the trace file, or null when records are only kept in memory.
+     */
+    public static TraceBuffer getFile() {
+        return sFile;
+    }
+
+    public static synchronized File getFilePath() {
+        return sFilePath;
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.red5pro.reactnative.trace;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Circular store of fixed-size binary trace records on top of a ByteBuffer.
+ *
+ * The buffer starts with a header holding a magic number, the record size and the sequence
+ * of the next record, followed by the record slots. When the buffer is a memory-mapped file,
+ * the header lets the records of a previous run be read back after a crash. Once all slots
+ * are used the oldest record is overwritten.
+ *
+ * Record layout, big-endian: time (long, ms since epoch), event id (int), view tag (int),
+ * level (int), code (int), value (long).
+ */
+
+public class TraceBuffer {
+
+    public static final int MAGIC = 0x52355452;
+    public static final int HEADER_SIZE = 16;
+    public static final int RECORD_SIZE = 32;
+
+    private static final int SEQUENCE_OFFSET = 8;
+
+    public interface Reader {
+        void onRecord(long time, int event, int tag, int level, int code, long value);
+    }
+
+    private final ByteBuffer mBuffer;
+    private final int mCapacity;
+    private long mSequence;
+
+    /**
+     * Uses the records already in buffer if it carries a valid header, otherwise starts empty.
+     */
+    public TraceBuffer(ByteBuffer buffer) {
+
+        mBuffer = buffer;
+        mCapacity = (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+        if (mCapacity <= 0) {
+            throw new IllegalArgumentException("Buffer too small for a trace record.");
+        }
+        if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == RECORD_SIZE
+                && buffer.getLong(SEQUENCE_OFFSET) >= 0) {
+            mSequence = buffer.getLong(SEQUENCE_OFFSET);
+        }
+        else {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, RECORD_SIZE);
+            buffer.putLong(SEQUENCE_OFFSET, 0);
+        }
+
+    }
+
+    public static TraceBuffer allocate(int records) {
+        return new TraceBuffer(ByteBuffer.allocate(HEADER_SIZE + records * RECORD_SIZE));
+    }
+
+    public synchronized void write(long time, int event, int tag, int level, int code, long value) {
+
+        int offset = HEADER_SIZE + (int) (mSequence % mCapacity) * RECORD_SIZE;
+        ByteBuffer buffer = mBuffer;
+        buffer.putLong(offset, time);
+        buffer.putInt(offset + 8, event);
+        buffer.putInt(offset + 12, tag);
+        buffer.putInt(offset + 16, level);
+        buffer.putInt(offset + 20, code);
+        buffer.putLong(offset + 24, value);
+        buffer.putLong(SEQUENCE_OFFSET, ++mSequence);
+
+    }
+
+    /**
+     * Hands the retained records to reader, oldest first.
+     *
+     * @return the number of records read.
+     */
+    public synchronized int read(Reader reader) {
+
+        long first = Math.max(0, mSequence - mCapacity);
+        ByteBuffer buffer = mBuffer;
+        for (long sequence = first; sequence < mSequence; sequence++) {
+            int offset = HEADER_SIZE + (int) (sequence % mCapacity) * RECORD_SIZE;
+            reader.onRecord(buffer.getLong(offset), buffer.getInt(offset + 8), buffer.getInt(offset + 12),
+                    buffer.getInt(offset + 16), buffer.getInt(offset + 20), buffer.getLong(offset + 24));
+        }
+        return (int) (mSequence - first);
+
+    }
+
+    public synchronized void clear() {
+        mSequence = 0;
+        mBuffer.putLong(SEQUENCE_OFFSET, 0);
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * @return the number of records ever written; those beyond the capacity are overwritten.
+     */
+    public synchronized long getWrittenCount() {
+        return mSequence;
+    }
+
+}
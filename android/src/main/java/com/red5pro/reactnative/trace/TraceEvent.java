@@ -0,0 +1,80 @@
+package com.red5pro.reactnative.trace;
+
+/**
+ * Ids of trace records. Ids are written to trace files, so existing ones must not change.
+ */
+
+public enum TraceEvent {
+
+    /**
+     * View command received. code: command id, value: argument count.
+     */
+    COMMAND(1, "command"),
+    /**
+     * View command finished on the worker, recorded as an error if it failed. code: command
+     * id, value: duration in microseconds.
+     */
+    COMMAND_RESULT(2, "commandResult"),
+    /**
+     * R5ConnectionEvent received. code: event value.
+     */
+    CONNECTION_EVENT(3, "connectionEvent"),
+    /**
+     * A camera could not be opened, queried or configured.
+     */
+    CAMERA_ERROR(4, "cameraError"),
+    /**
+     * A stream could not be stopped or rebuilt.
+     */
+    STREAM_ERROR(5, "streamError"),
+    /**
+     * A publish setting could not be applied to the running stream.
+     */
+    PUBLISH_SETTINGS_ERROR(6, "publishSettingsError"),
+    /**
+     * Reconnect attempt scheduled. code: attempt, value: delay in ms.
+     */
+    RECONNECT_ATTEMPT(7, "reconnectAttempt"),
+    /**
+     * View released. value: resources still held by all views afterwards.
+     */
+    RELEASE(8, "release"),
+    /**
+     * A queued start command and the stop command cancelling it were dropped. code: start
+     * command id, value: stop command id.
+     */
+    COMMANDS_COLLAPSED(9, "commandsCollapsed"),
+    /**
+     * View stream state changed. code: previous state, value: new state, both as the ordinal
+     * of R5StreamState.State.
+     */
+    STATE_CHANGE(10, "stateChange"),
+    /**
+     * A command or configuration was refused in the current state. code: current state,
+     * value: requested state.
+     */
+    STATE_REJECTED(11, "stateRejected"),
+    /**
+     * Subscriber variant selected from the quality ladder. code: variant width, value: view
+     * width.
+     */
+    QUALITY_CHANGE(12, "qualityChange");
+
+    private final int mId;
+    private final String mName;
+
+    TraceEvent(final int id, final String name) {
+        mId = id;
+        mName = name;
+    }
+
+    public final int getId() {
+        return mId;
+    }
+
+    @Override
+    public String toString() {
+        return mName;
+    }
+
+}
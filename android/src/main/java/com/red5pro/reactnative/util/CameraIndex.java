@@ -0,0 +1,106 @@
+package com.red5pro.reactnative.util;
+
+import android.hardware.Camera;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Process-wide index of the device cameras.
+ *
+ * Facing and sensor orientation are read once from `Camera.getCameraInfo`, instead of on
+ * every camera open.
+ */
+
+public class CameraIndex {
+
+    private static CameraIndex sInstance;
+
+    public static class Entry {
+
+        public final int id;
+        public final int facing;
+        public final int orientation;
+
+        Entry(int id, int facing, int orientation) {
+            this.id = id;
+            this.facing = facing;
+            this.orientation = orientation;
+        }
+
+        public boolean isFrontFacing() {
+            return facing == Camera.CameraInfo.CAMERA_FACING_FRONT;
+        }
+
+    }
+
+    private final List<Entry> mEntries;
+
+    public static synchronized CameraIndex getInstance() {
+        if (sInstance == null) {
+            sInstance = new CameraIndex();
+        }
+        return sInstance;
+    }
+
+    private CameraIndex() {
+
+        int count = Camera.getNumberOfCameras();
+        List<Entry> entries = new ArrayList<>(count);
+        Camera.CameraInfo info = new Camera.CameraInfo();
+        for (int i = 0; i < count; i++) {
+            Camera.getCameraInfo(i, info);
+            entries.add(new Entry(i, info.facing, info.orientation));
+        }
+        mEntries = Collections.unmodifiableList(entries);
+
+    }
+
+    public List<Entry> getEntries() {
+        return mEntries;
+    }
+
+    public List<Entry> findByFacing(int facing) {
+
+        List<Entry> found = new ArrayList<>(1);
+        for (Entry entry : mEntries) {
+            if (entry.facing == facing) {
+                found.add(entry);
+            }
+        }
+        return found;
+
+    }
+
+    /**
+     * Picks the narrowest supported fps range containing the framerate, otherwise the range
+     * closest to it. Ranges are in the camera's fps * 1000 units.
+     *
+     * @return the chosen range, or null if ranges is null or empty.
+     */
+    public static int[] selectFpsRange(List<int[]> ranges, int framerate) {
+
+        if (ranges == null) {
+            return null;
+        }
+
+        int[] selected = null;
+        int target = framerate * 1000;
+        int bestSpan = Integer.MAX_VALUE;
+        for (int[] range : ranges) {
+            int min = range[Camera.Parameters.PREVIEW_FPS_MIN_INDEX];
+            int max = range[Camera.Parameters.PREVIEW_FPS_MAX_INDEX];
+            int span = min <= target && target <= max
+                    ? max - min
+                    : Integer.MAX_VALUE / 2 + Math.min(Math.abs(min - target), Math.abs(max - target));
+            if (span < bestSpan) {
+                bestSpan = span;
+                selected = range;
+            }
+        }
+        return selected;
+
+    }
+
+}
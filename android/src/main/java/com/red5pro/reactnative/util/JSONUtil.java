@@ -8,10 +8,20 @@ import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeArray;
 import com.facebook.react.bridge.WritableNativeMap;
 
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.JsonWriter;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.Iterator;
 
 /**
@@ -21,6 +31,10 @@ import java.util.Iterator;
  */
 
 public class JSONUtil {
+
+    // Doubles holding integers up to 2^53 are exact, so they can be written without a fraction.
+    private static final double MAX_EXACT_INTEGER = 9007199254740992.0;
+    private static final int MAX_SAFE_LONG_DIGITS = 18;
     public static WritableMap convertJsonToMap(JSONObject jsonObject) throws JSONException {
         WritableMap map = new WritableNativeMap();
 
@@ -36,6 +50,8 @@ public class JSONUtil {
                 map.putBoolean(key, (Boolean) value);
             } else if (value instanceof  Integer) {
                 map.putInt(key, (Integer) value);
+            } else if (value instanceof  Long) {
+                putNumber(map, key, (Long) value);
             } else if (value instanceof  Double) {
                 map.putDouble(key, (Double) value);
             } else if (value instanceof String)  {
@@ -60,6 +76,8 @@ public class JSONUtil {
                 array.pushBoolean((Boolean) value);
             } else if (value instanceof  Integer) {
                 array.pushInt((Integer) value);
+            } else if (value instanceof  Long) {
+                pushNumber(array, (Long) value);
             } else if (value instanceof  Double) {
                 array.pushDouble((Double) value);
             } else if (value instanceof String)  {
@@ -84,7 +102,12 @@ public class JSONUtil {
                     object.put(key, readableMap.getBoolean(key));
                     break;
                 case Number:
-                    object.put(key, readableMap.getDouble(key));
+                    double number = readableMap.getDouble(key);
+                    if (isExactInteger(number)) {
+                        object.put(key, (long) number);
+                    } else {
+                        object.put(key, number);
+                    }
                     break;
                 case String:
                     object.put(key, readableMap.getString(key));
@@ -110,7 +133,12 @@ public class JSONUtil {
                     array.put(readableArray.getBoolean(i));
                     break;
                 case Number:
-                    array.put(readableArray.getDouble(i));
+                    double number = readableArray.getDouble(i);
+                    if (isExactInteger(number)) {
+                        array.put((long) number);
+                    } else {
+                        array.put(number);
+                    }
                     break;
                 case String:
                     array.put(readableArray.getString(i));
@@ -125,4 +153,345 @@ public class JSONUtil {
         }
         return array;
     }
+
+    /*
+     * Streaming conversion.
+     *
+     * The methods below go straight between JSON text and the bridge types without building
+     * an org.json tree in between. Nesting is tracked on an explicit stack instead of through
+     * recursion, and integral numbers stay ints (or longs) instead of being widened to double.
+     */
+
+    private static class Frame {
+
+        final String key;
+        final WritableMap map;
+        final WritableArray array;
+        final ReadableMap readableMap;
+        final ReadableMapKeySetIterator iterator;
+        final ReadableArray readableArray;
+        int index;
+
+        Frame(String key, WritableMap map, WritableArray array) {
+            this.key = key;
+            this.map = map;
+            this.array = array;
+            this.readableMap = null;
+            this.iterator = null;
+            this.readableArray = null;
+        }
+
+        Frame(ReadableMap readableMap, ReadableArray readableArray) {
+            this.key = null;
+            this.map = null;
+            this.array = null;
+            this.readableMap = readableMap;
+            this.iterator = readableMap != null ? readableMap.keySetIterator() : null;
+            this.readableArray = readableArray;
+        }
+
+    }
+
+    public static WritableMap parseMap(String json) throws IOException {
+        return parseMap(new StringReader(json));
+    }
+
+    public static WritableMap parseMap(Reader json) throws IOException {
+        JsonReader reader = new JsonReader(json);
+        try {
+            return (WritableMap) read(reader);
+        } catch (ClassCastException e) {
+            throw new IOException("Expected a JSON object.");
+        } finally {
+            reader.close();
+        }
+    }
+
+    public static WritableArray parseArray(String json) throws IOException {
+        return parseArray(new StringReader(json));
+    }
+
+    public static WritableArray parseArray(Reader json) throws IOException {
+        JsonReader reader = new JsonReader(json);
+        try {
+            return (WritableArray) read(reader);
+        } catch (ClassCastException e) {
+            throw new IOException("Expected a JSON array.");
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads the next JSON object or array from the reader.
+     *
+     * @return a WritableMap or WritableArray.
+     */
+    public static Object read(JsonReader reader) throws IOException {
+
+        ArrayDeque<Frame> stack = new ArrayDeque<>();
+        Frame root = open(reader, null);
+        if (root == null) {
+            throw new IOException("Expected a JSON object or array, found " + reader.peek());
+        }
+        stack.push(root);
+
+        while (true) {
+
+            Frame frame = stack.peek();
+            if (!reader.hasNext()) {
+                stack.pop();
+                if (frame.map != null) {
+                    reader.endObject();
+                } else {
+                    reader.endArray();
+                }
+                // Children are attached only once complete; the bridge takes ownership on put.
+                Frame parent = stack.peek();
+                if (parent == null) {
+                    return frame.map != null ? frame.map : frame.array;
+                }
+                if (parent.map != null) {
+                    if (frame.map != null) {
+                        parent.map.putMap(frame.key, frame.map);
+                    } else {
+                        parent.map.putArray(frame.key, frame.array);
+                    }
+                } else if (frame.map != null) {
+                    parent.array.pushMap(frame.map);
+                } else {
+                    parent.array.pushArray(frame.array);
+                }
+                continue;
+            }
+
+            String key = frame.map != null ? reader.nextName() : null;
+            Frame child = open(reader, key);
+            if (child != null) {
+                stack.push(child);
+            } else if (frame.map != null) {
+                readValue(reader, frame.map, key);
+            } else {
+                readValue(reader, frame.array);
+            }
+
+        }
+
+    }
+
+    public static String toJson(ReadableMap map) throws IOException {
+        StringWriter out = new StringWriter();
+        write(new JsonWriter(out), map, null);
+        return out.toString();
+    }
+
+    public static String toJson(ReadableArray array) throws IOException {
+        StringWriter out = new StringWriter();
+        write(new JsonWriter(out), null, array);
+        return out.toString();
+    }
+
+    public static void write(Writer out, ReadableMap map) throws IOException {
+        write(new JsonWriter(out), map, null);
+    }
+
+    /**
+     * Writes either map or array (exactly one must be non-null) to the writer and flushes it.
+     */
+    public static void write(JsonWriter writer, ReadableMap map, ReadableArray array) throws IOException {
+
+        ArrayDeque<Frame> stack = new ArrayDeque<>();
+        if (map != null) {
+            writer.beginObject();
+        } else {
+            writer.beginArray();
+        }
+        stack.push(new Frame(map, array));
+
+        while (!stack.isEmpty()) {
+
+            Frame frame = stack.peek();
+            Frame child = null;
+            if (frame.readableMap != null) {
+                if (!frame.iterator.hasNextKey()) {
+                    writer.endObject();
+                    stack.pop();
+                    continue;
+                }
+                String key = frame.iterator.nextKey();
+                writer.name(key);
+                child = writeValue(writer, frame.readableMap, key);
+            } else {
+                if (frame.index >= frame.readableArray.size()) {
+                    writer.endArray();
+                    stack.pop();
+                    continue;
+                }
+                child = writeValue(writer, frame.readableArray, frame.index++);
+            }
+            if (child != null) {
+                stack.push(child);
+            }
+
+        }
+        writer.flush();
+
+    }
+
+    private static Frame open(JsonReader reader, String key) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BEGIN_OBJECT) {
+            reader.beginObject();
+            return new Frame(key, new WritableNativeMap(), null);
+        }
+        if (token == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            return new Frame(key, null, new WritableNativeArray());
+        }
+        return null;
+    }
+
+    private static void readValue(JsonReader reader, WritableMap map, String key) throws IOException {
+        switch (reader.peek()) {
+            case BOOLEAN:
+                map.putBoolean(key, reader.nextBoolean());
+                break;
+            case NUMBER:
+                String number = reader.nextString();
+                if (isIntegerLiteral(number)) {
+                    putNumber(map, key, Long.parseLong(number));
+                } else {
+                    map.putDouble(key, Double.parseDouble(number));
+                }
+                break;
+            case STRING:
+                map.putString(key, reader.nextString());
+                break;
+            case NULL:
+                reader.nextNull();
+                map.putNull(key);
+                break;
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+
+    private static void readValue(JsonReader reader, WritableArray array) throws IOException {
+        switch (reader.peek()) {
+            case BOOLEAN:
+                array.pushBoolean(reader.nextBoolean());
+                break;
+            case NUMBER:
+                String number = reader.nextString();
+                if (isIntegerLiteral(number)) {
+                    pushNumber(array, Long.parseLong(number));
+                } else {
+                    array.pushDouble(Double.parseDouble(number));
+                }
+                break;
+            case STRING:
+                array.pushString(reader.nextString());
+                break;
+            case NULL:
+                reader.nextNull();
+                array.pushNull();
+                break;
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+
+    private static Frame writeValue(JsonWriter writer, ReadableMap map, String key) throws IOException {
+        switch (map.getType(key)) {
+            case Null:
+                writer.nullValue();
+                return null;
+            case Boolean:
+                writer.value(map.getBoolean(key));
+                return null;
+            case Number:
+                writeNumber(writer, map.getDouble(key));
+                return null;
+            case String:
+                writer.value(map.getString(key));
+                return null;
+            case Map:
+                writer.beginObject();
+                return new Frame(map.getMap(key), null);
+            case Array:
+                writer.beginArray();
+                return new Frame(null, map.getArray(key));
+        }
+        return null;
+    }
+
+    private static Frame writeValue(JsonWriter writer, ReadableArray array, int index) throws IOException {
+        switch (array.getType(index)) {
+            case Null:
+                writer.nullValue();
+                return null;
+            case Boolean:
+                writer.value(array.getBoolean(index));
+                return null;
+            case Number:
+                writeNumber(writer, array.getDouble(index));
+                return null;
+            case String:
+                writer.value(array.getString(index));
+                return null;
+            case Map:
+                writer.beginObject();
+                return new Frame(array.getMap(index), null);
+            case Array:
+                writer.beginArray();
+                return new Frame(null, array.getArray(index));
+        }
+        return null;
+    }
+
+    private static void writeNumber(JsonWriter writer, double number) throws IOException {
+        if (isExactInteger(number)) {
+            writer.value((long) number);
+        } else {
+            writer.value(number);
+        }
+    }
+
+    private static void putNumber(WritableMap map, String key, long value) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            map.putInt(key, (int) value);
+        } else {
+            map.putDouble(key, value);
+        }
+    }
+
+    private static void pushNumber(WritableArray array, long value) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            array.pushInt((int) value);
+        } else {
+            array.pushDouble(value);
+        }
+    }
+
+    private static boolean isExactInteger(double value) {
+        return value == Math.rint(value) && Math.abs(value) <= MAX_EXACT_INTEGER;
+    }
+
+    private static boolean isIntegerLiteral(String number) {
+        int length = number.length();
+        int start = length > 0 && number.charAt(0) == '-' ? 1 : 0;
+        if (length == start || length - start > MAX_SAFE_LONG_DIGITS) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
 }
@@ -0,0 +1,187 @@
+package com.red5pro.reactnative.util;
+
+/**
+ * Single-pass tokenizer for the `key=value;key=value` metadata strings delivered
+ * to subscribers through `onMetaData`.
+ *
+ * Parsing only records index ranges into the source string, so no arrays or substrings
+ * are allocated per property. Typed accessors read integers straight from the characters;
+ * only {@link #getString(String)} materializes a substring, and only when asked.
+ *
+ * Instances are reusable and not thread safe; keep one per view.
+ */
+
+public class MetaDataParser {
+
+    public static final String KEY_ORIENTATION = "orientation";
+    public static final String KEY_WIDTH = "width";
+    public static final String KEY_HEIGHT = "height";
+
+    private static final int MAX_PROPERTIES = 32;
+    private static final char PROPERTY_DELIMITER = ';';
+    private static final char VALUE_DELIMITER = '=';
+
+    private final int[] mKeyStart = new int[MAX_PROPERTIES];
+    private final int[] mKeyEnd = new int[MAX_PROPERTIES];
+    private final int[] mValueStart = new int[MAX_PROPERTIES];
+    private final int[] mValueEnd = new int[MAX_PROPERTIES];
+
+    private String mSource;
+    private int mCount;
+
+    /**
+     * Tokenizes the metadata string, replacing any previously parsed result.
+     * Properties beyond {@link #MAX_PROPERTIES} are ignored.
+     *
+     * @return the number of properties found.
+     */
+    public int parse(String metadata) {
+
+        mSource = metadata;
+        mCount = 0;
+        if (metadata == null) {
+            return 0;
+        }
+
+        final int length = metadata.length();
+        int start = 0;
+        while (start < length && mCount < MAX_PROPERTIES) {
+
+            int end = metadata.indexOf(PROPERTY_DELIMITER, start);
+            if (end < 0) {
+                end = length;
+            }
+
+            int split = metadata.indexOf(VALUE_DELIMITER, start);
+            if (split < 0 || split > end) {
+                split = end;
+            }
+
+            int keyStart = skipLeadingSpace(start, split);
+            int keyEnd = skipTrailingSpace(keyStart, split);
+            if (keyEnd > keyStart) {
+                int valueStart = split < end ? skipLeadingSpace(split + 1, end) : end;
+                mKeyStart[mCount] = keyStart;
+                mKeyEnd[mCount] = keyEnd;
+                mValueStart[mCount] = valueStart;
+                mValueEnd[mCount] = skipTrailingSpace(valueStart, end);
+                mCount++;
+            }
+
+            start = end + 1;
+        }
+
+        return mCount;
+
+    }
+
+    public int size() {
+        return mCount;
+    }
+
+    /**
+     * @return the index of the property matching key (case insensitive), or -1.
+     */
+    public int indexOf(String key) {
+
+        final int keyLength = key.length();
+        for (int i = 0; i < mCount; i++) {
+            if (mKeyEnd[i] - mKeyStart[i] == keyLength
+                    && mSource.regionMatches(true, mKeyStart[i], key, 0, keyLength)) {
+                return i;
+            }
+        }
+        return -1;
+
+    }
+
+    public boolean hasKey(String key) {
+        return indexOf(key) > -1;
+    }
+
+    public String getKeyAt(int index) {
+        return mSource.substring(mKeyStart[index], mKeyEnd[index]);
+    }
+
+    public String getValueAt(int index) {
+        return mSource.substring(mValueStart[index], mValueEnd[index]);
+    }
+
+    public String getString(String key) {
+        int index = indexOf(key);
+        return index > -1 ? getValueAt(index) : null;
+    }
+
+    /**
+     * Reads the leading integer portion of the value for key without allocating.
+     * Fractional parts are truncated; a missing or non-numeric value yields fallback.
+     */
+    public int getInt(String key, int fallback) {
+        int index = indexOf(key);
+        return index > -1 ? getIntAt(index, fallback) : fallback;
+    }
+
+    public int getIntAt(int index, int fallback) {
+
+        int pos = mValueStart[index];
+        final int end = mValueEnd[index];
+        if (pos >= end) {
+            return fallback;
+        }
+
+        boolean negative = false;
+        char c = mSource.charAt(pos);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            pos++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        while (pos < end) {
+            c = mSource.charAt(pos);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                return fallback;
+            }
+            digits++;
+            pos++;
+        }
+
+        if (digits == 0 || (pos < end && mSource.charAt(pos) != '.')) {
+            return fallback;
+        }
+        return (int) (negative ? -value : value);
+
+    }
+
+    public int getOrientation(int fallback) {
+        return getInt(KEY_ORIENTATION, fallback);
+    }
+
+    public int getWidth(int fallback) {
+        return getInt(KEY_WIDTH, fallback);
+    }
+
+    public int getHeight(int fallback) {
+        return getInt(KEY_HEIGHT, fallback);
+    }
+
+    private int skipLeadingSpace(int from, int to) {
+        while (from < to && mSource.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private int skipTrailingSpace(int from, int to) {
+        while (to > from && mSource.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.red5pro.reactnative.util;
+
+/**
+ * Pure camera/display orientation arithmetic, free of Android dependencies.
+ *
+ * Rotations are the `Surface.ROTATION_*` values (0 through 3, in quarter turns);
+ * orientations are in degrees.
+ */
+
+public final class OrientationMath {
+
+    private OrientationMath() {
+    }
+
+    /**
+     * @return the clockwise degrees of a display rotation: 0, 90, 180 or 270.
+     */
+    public static int degreesOf(int rotation) {
+        return (rotation & 3) * 90;
+    }
+
+    /**
+     * @return the degrees that undo a display rotation: 0, 270, 180 or 90.
+     */
+    public static int inverseDegreesOf(int rotation) {
+        return (360 - degreesOf(rotation)) % 360;
+    }
+
+    public static boolean isSideways(int rotation) {
+        return rotation % 2 != 0;
+    }
+
+    /**
+     * Sensor orientation of a front facing camera adjusted for the display rotation.
+     */
+    public static int applyRotation(int cameraOrientation, int rotation) {
+        return (cameraOrientation + degreesOf(rotation)) % 360;
+    }
+
+    /**
+     * Sensor orientation of a back facing camera adjusted for the display rotation.
+     */
+    public static int applyInverseRotation(int cameraOrientation, int rotation) {
+        return (cameraOrientation + inverseDegreesOf(rotation)) % 360;
+    }
+
+    public static int displayOrientation(int originalCameraOrientation, int rotation) {
+        return (originalCameraOrientation + inverseDegreesOf(rotation)) % 360;
+    }
+
+    /**
+     * Orientation to encode the published video with, given the display orientation.
+     * Sideways rotations are flipped by 180 degrees for the front facing camera only;
+     * the result is not normalized and may be negative.
+     */
+    public static int cameraOrientation(int displayOrientation, int rotation, boolean backfacing) {
+        int orientation = isSideways(rotation) ? displayOrientation - 180 : displayOrientation;
+        if (backfacing && isSideways(rotation)) {
+            orientation += 180;
+        }
+        return orientation;
+    }
+
+    /**
+     * Preview orientation for `Camera.setDisplayOrientation`; the front facing camera needs
+     * to be 180 degrees further rotated than the back facing camera.
+     */
+    public static int previewOrientation(int orientation, boolean backfacing) {
+        return (orientation + (backfacing ? 0 : 180)) % 360;
+    }
+
+}
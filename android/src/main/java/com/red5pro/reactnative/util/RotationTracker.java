@@ -0,0 +1,132 @@
+package com.red5pro.reactnative.util;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.hardware.display.DisplayManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Display;
+import android.view.WindowManager;
+
+/**
+ * Caches the default display rotation and reports changes once they settle.
+ *
+ * On API 17+ the tracker listens to DisplayManager, which also catches 180 degree turns
+ * that produce no configuration change. Below that, {@link #invalidate()} must be called
+ * from `onConfigurationChanged`. Bursts of changes within the settle window produce a
+ * single callback.
+ */
+
+public class RotationTracker {
+
+    public static final long DEFAULT_SETTLE_MS = 250;
+
+    public interface Listener {
+        void onRotationSettled(int rotation);
+    }
+
+    private static final int UNKNOWN = -1;
+
+    private final Context mContext;
+    private final Listener mListener;
+    private final long mSettleMs;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+    private volatile int mRotation = UNKNOWN;
+    private Object mDisplayListener;
+
+    private final Runnable mSettled = new Runnable() {
+        @Override
+        public void run() {
+            mListener.onRotationSettled(getRotation());
+        }
+    };
+
+    public RotationTracker(Context context, Listener listener) {
+        this(context, listener, DEFAULT_SETTLE_MS);
+    }
+
+    public RotationTracker(Context context, Listener listener, long settleMs) {
+        mContext = context;
+        mListener = listener;
+        mSettleMs = settleMs;
+    }
+
+    /**
+     * @return the cached rotation, querying the display only if nothing is cached.
+     */
+    public int getRotation() {
+        int rotation = mRotation;
+        if (rotation == UNKNOWN) {
+            rotation = queryRotation();
+            mRotation = rotation;
+        }
+        return rotation;
+    }
+
+    /**
+     * Re-reads the rotation and, if it changed, schedules a settled callback.
+     */
+    public void invalidate() {
+        int previous = mRotation;
+        int rotation = queryRotation();
+        mRotation = rotation;
+        if (previous != UNKNOWN && rotation != previous) {
+            mHandler.removeCallbacks(mSettled);
+            mHandler.postDelayed(mSettled, mSettleMs);
+        }
+    }
+
+    public void start() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && mDisplayListener == null) {
+            mDisplayListener = registerDisplayListener();
+        }
+        invalidate();
+    }
+
+    public void stop() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && mDisplayListener != null) {
+            unregisterDisplayListener(mDisplayListener);
+            mDisplayListener = null;
+        }
+        mHandler.removeCallbacks(mSettled);
+    }
+
+    private int queryRotation() {
+        WindowManager windowManager = (WindowManager) mContext.getSystemService(Context.WINDOW_SERVICE);
+        if (windowManager == null) {
+            return 0;
+        }
+        Display display = windowManager.getDefaultDisplay();
+        return display != null ? display.getRotation() : 0;
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+    private Object registerDisplayListener() {
+        DisplayManager.DisplayListener listener = new DisplayManager.DisplayListener() {
+            @Override
+            public void onDisplayAdded(int displayId) {
+            }
+
+            @Override
+            public void onDisplayRemoved(int displayId) {
+            }
+
+            @Override
+            public void onDisplayChanged(int displayId) {
+                invalidate();
+            }
+        };
+        DisplayManager displayManager = (DisplayManager) mContext.getSystemService(Context.DISPLAY_SERVICE);
+        displayManager.registerDisplayListener(listener, mHandler);
+        return listener;
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+    private void unregisterDisplayListener(Object listener) {
+        DisplayManager displayManager = (DisplayManager) mContext.getSystemService(Context.DISPLAY_SERVICE);
+        displayManager.unregisterDisplayListener((DisplayManager.DisplayListener) listener);
+    }
+
+}
@@ -0,0 +1,278 @@
+package com.red5pro.reactnative.view;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+
+import com.facebook.react.bridge.UiThreadUtil;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Serial background thread for camera and stream lifecycle work of a single view.
+ *
+ * Commands run in submission order, off the main thread, and report their outcome
+ * through a {@link Listener}. Work that must touch the view hierarchy is handed back
+ * to the main thread with {@link #runOnMainThread(Runnable)}.
+ *
+ * The worker keeps the {@link Session} its queued commands leave the view in. A stop
+ * command that arrives while its start command is still waiting, and the view was idle
+ * before that start, cancels the pair: neither runs, so quickly toggling a view never
+ * starts a stream only to stop it again.
+ */
+
+public class R5CommandWorker {
+
+    public interface Listener {
+        void onCommandComplete(R5VideoViewLayout.Commands command, long durationNanos, Throwable error);
+
+        /**
+         * A start command and the stop command cancelling it were dropped before either ran.
+         */
+        void onCommandsCollapsed(R5VideoViewLayout.Commands start, R5VideoViewLayout.Commands stop);
+    }
+
+    /**
+     * The session a view is left in once every queued command has run.
+     */
+    public enum Session {
+        IDLE,
+        SUBSCRIBED,
+        PUBLISHED
+    }
+
+    private class PendingCommand implements Runnable {
+
+        final R5VideoViewLayout.Commands command;
+        final Runnable task;
+        final Session previous;
+
+        PendingCommand(R5VideoViewLayout.Commands command, Runnable task, Session previous) {
+            this.command = command;
+            this.task = task;
+            this.previous = previous;
+        }
+
+        @Override
+        public void run() {
+            synchronized (R5CommandWorker.this) {
+                if (!mPending.remove(this)) {
+                    // Collapsed by execute after the looper had already dequeued it;
+                    // removeCallbacks came too late, so it must not run.
+                    return;
+                }
+            }
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // Traced by the listener.
+                error = e;
+            }
+            mListener.onCommandComplete(command, System.nanoTime() - start, error);
+        }
+
+    }
+
+    private final String mName;
+    private final Listener mListener;
+    private final ArrayDeque<PendingCommand> mPending = new ArrayDeque<>();
+
+    private HandlerThread mThread;
+    private Handler mHandler;
+    private boolean mReleased;
+    private Session mSession = Session.IDLE;
+
+    private int mMaxDepth;
+    private long mCollapsedCount;
+
+    R5CommandWorker(String name, Listener listener) {
+        mName = name;
+        mListener = listener;
+    }
+
+    public boolean execute(R5VideoViewLayout.Commands command, Runnable task) {
+
+        PendingCommand cancelled = null;
+        synchronized (this) {
+            if (mReleased) {
+                return false;
+            }
+            PendingCommand last = mPending.peekLast();
+            if (last != null && last.previous == Session.IDLE && cancels(last.command, command)) {
+                mPending.removeLast();
+                mHandler.removeCallbacks(last);
+                mSession = last.previous;
+                mCollapsedCount++;
+                cancelled = last;
+            }
+            else {
+                PendingCommand pending = new PendingCommand(command, task, mSession);
+                if (!post(pending)) {
+                    return false;
+                }
+                mPending.addLast(pending);
+                mMaxDepth = Math.max(mMaxDepth, mPending.size());
+                mSession = sessionAfter(command, mSession);
+            }
+        }
+        if (cancelled != null) {
+            mListener.onCommandsCollapsed(cancelled.command, command);
+        }
+        return true;
+
+    }
+
+    /**
+     * Queues internal work behind any pending commands, without reporting an outcome.
+     */
+    public synchronized boolean post(Runnable task) {
+
+        if (mReleased) {
+            return false;
+        }
+        return startThread().post(task);
+
+    }
+
+    /**
+     * Queues internal work to run once delayMs have passed, behind any commands pending by then.
+     */
+    public synchronized boolean postDelayed(Runnable task, long delayMs) {
+
+        if (mReleased) {
+            return false;
+        }
+        return startThread().postDelayed(task, delayMs);
+
+    }
+
+    /**
+     * Removes internal work queued with post or postDelayed that has not started yet.
+     */
+    public synchronized void removeCallbacks(Runnable task) {
+        if (mHandler != null) {
+            mHandler.removeCallbacks(task);
+        }
+    }
+
+    private Handler startThread() {
+        if (mThread == null) {
+            mThread = new HandlerThread(mName, Process.THREAD_PRIORITY_DISPLAY);
+            mThread.start();
+            mHandler = new Handler(mThread.getLooper());
+        }
+        return mHandler;
+    }
+
+    /**
+     * @return the session the view is left in once the queued commands have run.
+     */
+    public synchronized Session getSession() {
+        return mSession;
+    }
+
+    /**
+     * @return commands queued and not yet started.
+     */
+    public synchronized int getDepth() {
+        return mPending.size();
+    }
+
+    public synchronized int getMaxDepth() {
+        return mMaxDepth;
+    }
+
+    /**
+     * @return pairs of start and stop commands dropped because they cancelled each other.
+     */
+    public synchronized long getCollapsedCount() {
+        return mCollapsedCount;
+    }
+
+    public synchronized boolean isWorkerThread() {
+        return mThread != null && Thread.currentThread() == mThread;
+    }
+
+    /**
+     * Lets commands already queued finish, then stops the thread.
+     */
+    public synchronized void release() {
+
+        mReleased = true;
+        if (mHandler != null) {
+            final Looper looper = mThread.getLooper();
+            mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    looper.quit();
+                }
+            });
+            mHandler = null;
+            mThread = null;
+        }
+
+    }
+
+    private static boolean cancels(R5VideoViewLayout.Commands start, R5VideoViewLayout.Commands stop) {
+        return (start == R5VideoViewLayout.Commands.SUBSCRIBE && stop == R5VideoViewLayout.Commands.UNSUBSCRIBE)
+                || (start == R5VideoViewLayout.Commands.PUBLISH && stop == R5VideoViewLayout.Commands.UNPUBLISH);
+    }
+
+    private static Session sessionAfter(R5VideoViewLayout.Commands command, Session session) {
+        switch (command) {
+            case SUBSCRIBE:
+                return Session.SUBSCRIBED;
+            case PUBLISH:
+                return Session.PUBLISHED;
+            case UNSUBSCRIBE:
+            case UNPUBLISH:
+                return Session.IDLE;
+            default:
+                return session;
+        }
+    }
+
+    /**
+     * Runs the task on the main thread and blocks until it has finished, rethrowing
+     * any runtime exception on the calling thread. Must not be called while the main
+     * thread is waiting on the worker.
+     */
+    public static void runOnMainThread(final Runnable task) {
+
+        if (UiThreadUtil.isOnUiThread()) {
+            task.run();
+            return;
+        }
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final RuntimeException[] failure = new RuntimeException[1];
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    failure[0] = e;
+                } finally {
+                    latch.countDown();
+                }
+            }
+        });
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting on the main thread.", e);
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+
+    }
+
+}
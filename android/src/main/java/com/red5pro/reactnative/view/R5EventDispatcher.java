@@ -0,0 +1,238 @@
+package com.red5pro.reactnative.view;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.view.View;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.events.RCTEventEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Per-view pipeline between the streaming callbacks and the RCTEventEmitter.
+ *
+ * Events are queued from any thread and delivered together on the next vsync of the
+ * main thread. While an event waits for its frame, a newer event of the same type may
+ * replace it according to the type's {@link Policy}. The queue is bounded; when it is
+ * full the oldest replaceable event is dropped to make room.
+ */
+
+public class R5EventDispatcher implements Choreographer.FrameCallback {
+
+    private static final int DEFAULT_CAPACITY = 32;
+    private static final int NO_CODE = -1;
+
+    public enum Policy {
+
+        /**
+         * Always delivered, never merged or dropped.
+         */
+        DELIVER,
+        /**
+         * Only the newest pending event of the type is delivered, in the place it arrived,
+         * after events queued before it.
+         */
+        MERGE_LATEST,
+        /**
+         * Consecutive pending events of the type carrying the same code collapse into the newest.
+         */
+        MERGE_REPEATED;
+
+        boolean isDroppable() {
+            return this != DELIVER;
+        }
+
+    }
+
+    private static class PendingEvent {
+
+        final R5VideoViewLayout.Events type;
+        final int code;
+        WritableMap payload;
+
+        PendingEvent(R5VideoViewLayout.Events type, int code, WritableMap payload) {
+            this.type = type;
+            this.code = code;
+            this.payload = payload;
+        }
+
+    }
+
+    private final View mView;
+    private final RCTEventEmitter mEventEmitter;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final ArrayDeque<PendingEvent> mQueue;
+    private final int mCapacity;
+
+    private boolean mFrameScheduled;
+    private boolean mReleased;
+
+    private long mEmittedCount;
+    private long mMergedCount;
+    private long mDroppedCount;
+
+    private final Runnable mScheduleFrame = new Runnable() {
+        @Override
+        public void run() {
+            Choreographer.getInstance().postFrameCallback(R5EventDispatcher.this);
+        }
+    };
+
+    R5EventDispatcher(View view, RCTEventEmitter eventEmitter) {
+        this(view, eventEmitter, DEFAULT_CAPACITY);
+    }
+
+    R5EventDispatcher(View view, RCTEventEmitter eventEmitter, int capacity) {
+        mView = view;
+        mEventEmitter = eventEmitter;
+        mCapacity = capacity;
+        mQueue = new ArrayDeque<>(capacity);
+    }
+
+    public void dispatch(R5VideoViewLayout.Events type, WritableMap payload) {
+        dispatch(type, NO_CODE, payload);
+    }
+
+    public synchronized void dispatch(R5VideoViewLayout.Events type, int code, WritableMap payload) {
+
+        if (mReleased) {
+            mDroppedCount++;
+            return;
+        }
+
+        Policy policy = type.getDispatchPolicy();
+        if (merge(policy, type, code, payload)) {
+            mMergedCount++;
+            return;
+        }
+
+        if (mQueue.size() >= mCapacity && !evictDroppable()) {
+            if (policy.isDroppable()) {
+                mDroppedCount++;
+                return;
+            }
+            // Lifecycle events are allowed past the bound rather than being lost.
+        }
+
+        mQueue.addLast(new PendingEvent(type, code, payload));
+        scheduleFrame();
+
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+
+        PendingEvent[] batch;
+        synchronized (this) {
+            mFrameScheduled = false;
+            if (mReleased || mQueue.isEmpty()) {
+                return;
+            }
+            batch = mQueue.toArray(new PendingEvent[mQueue.size()]);
+            mQueue.clear();
+            mEmittedCount += batch.length;
+        }
+
+        final int viewId = mView.getId();
+        for (PendingEvent event : batch) {
+            mEventEmitter.receiveEvent(viewId, event.type.toString(), event.payload);
+        }
+
+    }
+
+    /**
+     * Stops delivery. Pending events are discarded and counted as dropped.
+     */
+    public synchronized void release() {
+
+        mReleased = true;
+        mDroppedCount += mQueue.size();
+        mQueue.clear();
+        mMainHandler.removeCallbacks(mScheduleFrame);
+        if (mFrameScheduled && Looper.myLooper() == Looper.getMainLooper()) {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+        mFrameScheduled = false;
+
+    }
+
+    public synchronized long getEmittedCount() {
+        return mEmittedCount;
+    }
+
+    public synchronized long getMergedCount() {
+        return mMergedCount;
+    }
+
+    public synchronized long getDroppedCount() {
+        return mDroppedCount;
+    }
+
+    public synchronized int getPendingCount() {
+        return mQueue.size();
+    }
+
+    private boolean merge(Policy policy, R5VideoViewLayout.Events type, int code, WritableMap payload) {
+
+        if (policy == Policy.MERGE_LATEST) {
+            Iterator<PendingEvent> iterator = mQueue.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().type == type) {
+                    // Moved to the tail, so the newer payload is not delivered ahead of
+                    // events that were queued before it.
+                    iterator.remove();
+                    mQueue.addLast(new PendingEvent(type, code, payload));
+                    return true;
+                }
+            }
+        }
+        else if (policy == Policy.MERGE_REPEATED) {
+            Iterator<PendingEvent> iterator = mQueue.descendingIterator();
+            while (iterator.hasNext()) {
+                PendingEvent pending = iterator.next();
+                if (pending.type == type) {
+                    if (pending.code == code) {
+                        pending.payload = payload;
+                        return true;
+                    }
+                    break;
+                }
+            }
+        }
+        return false;
+
+    }
+
+    private boolean evictDroppable() {
+
+        Iterator<PendingEvent> iterator = mQueue.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().type.getDispatchPolicy().isDroppable()) {
+                iterator.remove();
+                mDroppedCount++;
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+    private void scheduleFrame() {
+
+        if (mFrameScheduled) {
+            return;
+        }
+        mFrameScheduled = true;
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            mScheduleFrame.run();
+        }
+        else {
+            mMainHandler.post(mScheduleFrame);
+        }
+
+    }
+
+}
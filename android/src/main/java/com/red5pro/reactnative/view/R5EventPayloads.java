@@ -0,0 +1,81 @@
+package com.red5pro.reactnative.view;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+import com.red5pro.reactnative.metrics.StatsRingBuffer;
+import com.red5pro.streaming.event.R5ConnectionEvent;
+
+/**
+ * Builds the payloads of the events a view sends for its stream. They run for every
+ * connection event, metadata callback and stats batch, and need nothing from the view
+ * beyond the values passed in.
+ *
+ * Each payload is handed off to the bridge, so it cannot be pooled and reused.
+ */
+
+public class R5EventPayloads {
+
+    /**
+     * @return the payload of a publisher or subscriber status event.
+     */
+    public static WritableMap createStatusMap(R5ConnectionEvent event, String streamName) {
+
+        WritableMap map = new WritableNativeMap();
+        WritableMap statusMap = new WritableNativeMap();
+        statusMap.putInt("code", event.value());
+        statusMap.putString("message", event.message);
+        statusMap.putString("name", event.name());
+        statusMap.putString("streamName", streamName);
+        map.putMap("status", statusMap);
+        return map;
+
+    }
+
+    public static WritableMap createMetaDataMap(String metadata) {
+
+        WritableMap map = new WritableNativeMap();
+        map.putString("metadata", metadata);
+        return map;
+
+    }
+
+    /**
+     * Drains the buffer into one array per field.
+     *
+     * @return the payload of a stats event, or null if the buffer was empty.
+     */
+    public static WritableMap createStatsMap(StatsRingBuffer buffer, String streamName, boolean publisher) {
+
+        final WritableArray[] columns = new WritableArray[StatsRingBuffer.FIELD_COUNT];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new WritableNativeArray();
+        }
+        int count = buffer.drain(new StatsRingBuffer.Reader() {
+            @Override
+            public void onSample(double[] values, int offset) {
+                for (int i = 0; i < StatsRingBuffer.FIELD_COUNT; i++) {
+                    columns[i].pushDouble(values[offset + i]);
+                }
+            }
+        }, buffer.getCapacity());
+        if (count == 0) {
+            return null;
+        }
+
+        WritableMap samples = new WritableNativeMap();
+        for (int i = 0; i < columns.length; i++) {
+            samples.putArray(StatsRingBuffer.FIELD_NAMES[i], columns[i]);
+        }
+        WritableMap map = new WritableNativeMap();
+        map.putString("streamName", streamName);
+        map.putBoolean("publisher", publisher);
+        map.putInt("count", count);
+        map.putDouble("overflow", buffer.getOverflowCount());
+        map.putMap("samples", samples);
+        return map;
+
+    }
+
+}
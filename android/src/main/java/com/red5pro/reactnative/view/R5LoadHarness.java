@@ -0,0 +1,186 @@
+package com.red5pro.reactnative.view;
+
+import android.app.Activity;
+import android.content.Context;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+import com.facebook.react.uimanager.ThemedReactContext;
+import com.facebook.react.uimanager.events.RCTEventEmitter;
+import com.red5pro.reactnative.metrics.LatencyHistogram;
+import com.red5pro.reactnative.stream.FakeStreamProvider;
+import com.red5pro.streaming.R5StreamProtocol;
+import com.red5pro.streaming.config.R5Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives many subscriber views from a {@link FakeStreamProvider} without a server, to
+ * measure the per-event work of the view layer under load.
+ *
+ * The views are real R5VideoViewLayout instances, configured and subscribed the way the
+ * view manager does it, except that their events go to a counting emitter instead of JS.
+ * The provider times each of their connection event and metadata callbacks. The views are
+ * never attached to a window, so no surface is created, and no camera is used.
+ */
+
+public class R5LoadHarness {
+
+    public static class Result {
+
+        public int views;
+        public long durationMs;
+        public long connectionEvents;
+        public long metadataEvents;
+        public long emitted;
+        public long merged;
+        public long dropped;
+        public long handlerP50Micros;
+        public long handlerP99Micros;
+        public long handlerMaxMicros;
+
+        public WritableMap toMap() {
+            WritableMap map = new WritableNativeMap();
+            map.putInt("views", views);
+            map.putDouble("durationMs", durationMs);
+            map.putDouble("connectionEvents", connectionEvents);
+            map.putDouble("metadataEvents", metadataEvents);
+            map.putDouble("emitted", emitted);
+            map.putDouble("merged", merged);
+            map.putDouble("dropped", dropped);
+            map.putDouble("handlerP50Micros", handlerP50Micros);
+            map.putDouble("handlerP99Micros", handlerP99Micros);
+            map.putDouble("handlerMaxMicros", handlerMaxMicros);
+            return map;
+        }
+
+    }
+
+    private final ReactApplicationContext mContext;
+    private final FakeStreamProvider mProvider;
+    private final AtomicLong mReceivedEvents = new AtomicLong();
+
+    private final RCTEventEmitter mEmitter = new RCTEventEmitter() {
+        @Override
+        public void receiveEvent(int targetTag, String eventName, WritableMap event) {
+            mReceivedEvents.incrementAndGet();
+        }
+
+        @Override
+        public void receiveTouches(String eventName, WritableArray touches, WritableArray changedIndices) {
+        }
+    };
+
+    public R5LoadHarness(ReactApplicationContext context, FakeStreamProvider provider) {
+        mContext = context;
+        mProvider = provider;
+    }
+
+    /**
+     * Subscribes views to simulated streams for durationMs, then unsubscribes and releases
+     * them. Blocks the calling thread, which must not be the main thread, as the views are
+     * created, configured and released on it.
+     */
+    public Result run(final int views, long durationMs) throws InterruptedException {
+
+        final List<R5VideoViewLayout> layouts = new ArrayList<>(views);
+        runOnMainThreadAndWait(new Runnable() {
+            @Override
+            public void run() {
+                Activity activity = mContext.getCurrentActivity();
+                Context base = activity != null ? activity : mContext;
+                ThemedReactContext context = new ThemedReactContext(mContext, base);
+                for (int i = 0; i < views; i++) {
+                    R5VideoViewLayout layout = new R5VideoViewLayout(context, mProvider, mEmitter);
+                    layout.setId(i + 1);
+                    R5Configuration configuration = new R5Configuration(R5StreamProtocol.RTSP,
+                            "127.0.0.1", 8554, "live", 1.0f, "");
+                    layout.editProps().setConfiguration(configuration, "load" + (i + 1));
+                    layout.commitProps();
+                    layouts.add(layout);
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        for (final R5VideoViewLayout layout : layouts) {
+            final String streamName = "load" + layout.getId();
+            layout.runCommand(R5VideoViewLayout.Commands.SUBSCRIBE, new Runnable() {
+                @Override
+                public void run() {
+                    layout.subscribe(streamName);
+                }
+            });
+        }
+        Thread.sleep(durationMs);
+        for (final R5VideoViewLayout layout : layouts) {
+            layout.runCommand(R5VideoViewLayout.Commands.UNSUBSCRIBE, new Runnable() {
+                @Override
+                public void run() {
+                    layout.unsubscribe();
+                }
+            });
+        }
+        // Lets the scripted stop events reach the views before they are released.
+        FakeStreamProvider.Script script = mProvider.getScript();
+        Thread.sleep(script.eventInterval * (script.stopEvents.length + 1));
+        long duration = System.nanoTime() - start;
+
+        runOnMainThreadAndWait(new Runnable() {
+            @Override
+            public void run() {
+                for (R5VideoViewLayout layout : layouts) {
+                    layout.release();
+                }
+            }
+        });
+
+        Result result = new Result();
+        result.views = views;
+        result.durationMs = duration / 1000000;
+        result.connectionEvents = mProvider.getEventCount();
+        result.metadataEvents = mProvider.getMetaDataCount();
+        for (R5VideoViewLayout layout : layouts) {
+            R5EventDispatcher dispatcher = layout.mEventDispatcher;
+            result.emitted += dispatcher.getEmittedCount();
+            result.merged += dispatcher.getMergedCount();
+            result.dropped += dispatcher.getDroppedCount();
+        }
+        LatencyHistogram latency = mProvider.getCallbackLatency();
+        result.handlerP50Micros = latency.getPercentileMicros(50);
+        result.handlerP99Micros = latency.getPercentileMicros(99);
+        result.handlerMaxMicros = latency.getMaxMicros();
+        return result;
+
+    }
+
+    /**
+     * @return events the views delivered to the emitter so far.
+     */
+    public long getReceivedCount() {
+        return mReceivedEvents.get();
+    }
+
+    private static void runOnMainThreadAndWait(final Runnable task) throws InterruptedException {
+
+        final CountDownLatch done = new CountDownLatch(1);
+        R5CommandWorker.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } finally {
+                    done.countDown();
+                }
+            }
+        });
+        done.await();
+
+    }
+
+}
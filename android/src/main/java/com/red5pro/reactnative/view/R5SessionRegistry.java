@@ -0,0 +1,113 @@
+package com.red5pro.reactnative.view;
+
+import android.util.SparseArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks every mounted R5VideoViewLayout by its React tag, so commands reach the view
+ * they were issued for and resource usage can be totalled across all views.
+ */
+
+public class R5SessionRegistry {
+
+    public static class Session {
+
+        public final int tag;
+        public final R5VideoViewLayout view;
+        public final long registeredAt;
+
+        Session(int tag, R5VideoViewLayout view) {
+            this.tag = tag;
+            this.view = view;
+            this.registeredAt = System.currentTimeMillis();
+        }
+
+    }
+
+    public static class Accounting {
+
+        public int sessions;
+        public int activeStreams;
+        public int activePublishers;
+        public int activeDecoders;
+        /**
+         * Sum of the current publish and subscribe bitrates, in kb/s.
+         */
+        public double totalBitrate;
+
+    }
+
+    private final SparseArray<Session> mSessions = new SparseArray<>();
+
+    /**
+     * Registers the view under its current id. Safe to call repeatedly; a view is only
+     * registered once its React tag has been assigned.
+     */
+    public synchronized Session register(R5VideoViewLayout view) {
+
+        int tag = view.getId();
+        if (tag <= 0) {
+            return null;
+        }
+
+        Session session = mSessions.get(tag);
+        if (session == null || session.view != view) {
+            session = new Session(tag, view);
+            mSessions.put(tag, session);
+        }
+        return session;
+
+    }
+
+    public synchronized void unregister(R5VideoViewLayout view) {
+
+        Session session = mSessions.get(view.getId());
+        if (session != null && session.view == view) {
+            mSessions.remove(session.tag);
+        }
+
+    }
+
+    public synchronized Session get(int tag) {
+        return mSessions.get(tag);
+    }
+
+    public synchronized int size() {
+        return mSessions.size();
+    }
+
+    public synchronized List<Session> getSessions() {
+
+        List<Session> sessions = new ArrayList<>(mSessions.size());
+        for (int i = 0; i < mSessions.size(); i++) {
+            sessions.add(mSessions.valueAt(i));
+        }
+        return sessions;
+
+    }
+
+    public synchronized Accounting getAccounting() {
+
+        Accounting accounting = new Accounting();
+        accounting.sessions = mSessions.size();
+        for (int i = 0; i < mSessions.size(); i++) {
+            R5VideoViewLayout view = mSessions.valueAt(i).view;
+            if (!view.isStreaming()) {
+                continue;
+            }
+            accounting.activeStreams++;
+            if (view.isPublisher()) {
+                accounting.activePublishers++;
+            }
+            else {
+                accounting.activeDecoders++;
+            }
+            accounting.totalBitrate += view.getStreamBitrate();
+        }
+        return accounting;
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.red5pro.reactnative.view;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lifecycle state of the stream of a single view.
+ *
+ * IDLE -> CONFIGURED -> CONNECTING -> STREAMING -> STOPPING -> IDLE, where STREAMING may
+ * go back to CONNECTING while reconnecting and every state but RELEASED may end in
+ * RELEASED. The state only changes by compare-and-set along these edges, so when threads
+ * race for a transition exactly one of them wins and the others learn it from the return
+ * value. Reading the state is a single volatile read.
+ */
+
+public class R5StreamState {
+
+    public enum State {
+
+        IDLE("idle"),
+        CONFIGURED("configured"),
+        CONNECTING("connecting"),
+        STREAMING("streaming"),
+        STOPPING("stopping"),
+        RELEASED("released");
+
+        private final String mName;
+
+        State(final String name) {
+            mName = name;
+        }
+
+        @Override
+        public String toString() {
+            return mName;
+        }
+
+    }
+
+    public interface Listener {
+        /**
+         * Called on the thread that made the transition.
+         */
+        void onStateChange(State previous, State state);
+    }
+
+    private final AtomicReference<State> mState = new AtomicReference<>(State.IDLE);
+    private final Listener mListener;
+
+    R5StreamState(Listener listener) {
+        mListener = listener;
+    }
+
+    public State get() {
+        return mState.get();
+    }
+
+    public boolean is(State state) {
+        return mState.get() == state;
+    }
+
+    /**
+     * Moves from expected to next if the state is still expected.
+     *
+     * @return false if another thread changed the state first.
+     */
+    public boolean compareAndSet(State expected, State next) {
+
+        if (!isAllowed(expected, next)) {
+            throw new IllegalArgumentException("No transition from " + expected + " to " + next);
+        }
+        if (!mState.compareAndSet(expected, next)) {
+            return false;
+        }
+        if (expected != next) {
+            mListener.onStateChange(expected, next);
+        }
+        return true;
+
+    }
+
+    /**
+     * Moves to next from whatever the current state is, if that state allows it.
+     *
+     * @return the state moved from, or null if the current state does not lead to next.
+     */
+    public State moveTo(State next) {
+
+        while (true) {
+            State current = mState.get();
+            if (!isAllowed(current, next)) {
+                return null;
+            }
+            if (compareAndSet(current, next)) {
+                return current;
+            }
+        }
+
+    }
+
+    static boolean isAllowed(State from, State to) {
+
+        switch (to) {
+            case CONFIGURED:
+                return from == State.IDLE || from == State.CONFIGURED;
+            case CONNECTING:
+                return from == State.CONFIGURED || from == State.STREAMING;
+            case STREAMING:
+                return from == State.CONNECTING;
+            case STOPPING:
+                return from == State.CONNECTING || from == State.STREAMING;
+            case IDLE:
+                return from == State.CONFIGURED || from == State.CONNECTING
+                        || from == State.STREAMING || from == State.STOPPING;
+            case RELEASED:
+                return from != State.RELEASED;
+            default:
+                return false;
+        }
+
+    }
+
+}
@@ -3,18 +3,44 @@ package com.red5pro.reactnative.view;
 import android.app.Activity;
 import android.content.res.Configuration;
 import android.hardware.Camera;
-import android.util.Log;
-import android.view.Surface;
+import android.opengl.GLSurfaceView;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
 import android.view.SurfaceView;
 import android.view.View;
 import android.view.ViewGroup;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.LifecycleEventListener;
+import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeMap;
 import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
+import com.red5pro.reactnative.abr.AdaptiveBitrateConfig;
+import com.red5pro.reactnative.abr.AdaptiveBitrateEngine;
+import com.red5pro.reactnative.abr.BitrateLadder;
+import com.red5pro.reactnative.abr.HysteresisPolicy;
+import com.red5pro.reactnative.metrics.LatencyHistogram;
+import com.red5pro.reactnative.metrics.LifecycleTimer;
+import com.red5pro.reactnative.metrics.MetricsRegistry;
+import com.red5pro.reactnative.metrics.ResourceTracker;
+import com.red5pro.reactnative.metrics.StatsRingBuffer;
+import com.red5pro.reactnative.metrics.StatsSampler;
+import com.red5pro.reactnative.reconnect.ReconnectConfig;
+import com.red5pro.reactnative.reconnect.ReconnectScheduler;
+import com.red5pro.reactnative.stream.R5ConfigurationFactory;
+import com.red5pro.reactnative.stream.R5LiveCamera;
+import com.red5pro.reactnative.stream.R5QualityLadder;
+import com.red5pro.reactnative.stream.R5SessionPool;
+import com.red5pro.reactnative.stream.R5StreamProvider;
+import com.red5pro.reactnative.trace.Trace;
+import com.red5pro.reactnative.trace.TraceEvent;
+import com.red5pro.reactnative.util.CameraIndex;
+import com.red5pro.reactnative.util.MetaDataParser;
+import com.red5pro.reactnative.util.OrientationMath;
+import com.red5pro.reactnative.util.RotationTracker;
 
 import com.red5pro.streaming.R5Connection;
 import com.red5pro.streaming.R5Stream;
@@ -22,34 +48,46 @@ import com.red5pro.streaming.config.R5Configuration;
 import com.red5pro.streaming.event.R5ConnectionEvent;
 import com.red5pro.streaming.event.R5ConnectionListener;
 import com.red5pro.streaming.media.R5AudioController;
-import com.red5pro.streaming.source.R5AdaptiveBitrateController;
-import com.red5pro.streaming.source.R5Camera;
 import com.red5pro.streaming.source.R5Microphone;
 import com.red5pro.streaming.view.R5VideoView;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * Created by kylekellogg on 9/11/17.
  */
 
-public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListener, LifecycleEventListener {
+public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListener, LifecycleEventListener,
+        R5CommandWorker.Listener, RotationTracker.Listener, AdaptiveBitrateEngine.Listener, StatsSampler.Listener,
+        ReconnectScheduler.Listener, R5StreamState.Listener {
 
     public int logLevel;
     public int scaleMode;
     public boolean showDebug;
 
     protected String mStreamName;
-    protected boolean mIsPublisher;
-    protected boolean mIsStreaming;
+    // Written on the worker, read on the main thread and in SDK callbacks.
+    protected volatile boolean mIsPublisher;
+    protected final R5StreamState mState = new R5StreamState(this);
     protected R5VideoView mVideoView;
 
     protected ThemedReactContext mContext;
     protected RCTEventEmitter mEventEmitter;
+    protected R5EventDispatcher mEventDispatcher;
+    protected R5CommandWorker mCommandWorker;
+    protected final R5StreamProvider mStreamProvider;
+    protected R5Configuration mConfiguration;
     protected R5Connection mConnection;
     protected R5Stream mStream;
-    protected R5Camera mCamera;
+    protected R5Stream.RecordType mRecordType;
+    protected SurfaceView mPreviewSurface;
+    protected boolean mStreamStarted;
+    protected R5LiveCamera mCamera;
+    // The open camera device this view owns; null once released.
+    protected Camera mCameraDevice;
+    protected R5Microphone mMicrophone;
 
     protected boolean mUseVideo = true;
     protected boolean mUseAudio = true;
@@ -57,31 +95,85 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
     protected int mCameraHeight = 360;
     protected int mBitrate = 750;
     protected int mFramerate = 15;
+    protected int mPublishedWidth;
+    protected int mPublishedHeight;
     protected int mAudioMode = 0;
     protected int mAudioBitrate = 32;
     protected int mAudioSampleRate = 44100;
     protected boolean mUseAdaptiveBitrateController = false;
+    protected AdaptiveBitrateConfig mAdaptiveBitrateConfig = new AdaptiveBitrateConfig();
+    protected AdaptiveBitrateEngine mAdaptiveBitrateEngine;
     protected boolean mUseBackfacingCamera = false;
 
     protected int mCameraOrientation;
     protected int mDisplayOrientation;
-    protected boolean mOrientationDirty;
+    protected volatile boolean mOrientationDirty;
+    protected Runnable mReorientTask;
     protected int mOrigCamOrientation = 0;
     protected View.OnLayoutChangeListener mLayoutListener;
+    protected RotationTracker mRotationTracker;
+
+    protected final MetaDataParser mMetaDataParser = new MetaDataParser();
+    protected final LifecycleTimer mLifecycleTimer = new LifecycleTimer();
+    protected int mStreamOrientation = Integer.MIN_VALUE;
+
+    protected int mStatsInterval = 0;
+    protected int mStatsBatchSize = 10;
+    protected final StatsSampler mStatsSampler = new StatsSampler(this);
+
+    public static final int BACKGROUND_CONTINUE = 0;
+    public static final int BACKGROUND_AUDIO_ONLY = 1;
+
+    protected int mBackgroundPolicy = BACKGROUND_CONTINUE;
+
+    // Delay after the last resize before the subscribed variant is re-evaluated, in ms.
+    protected static final long QUALITY_SETTLE_MS = 500;
+    protected volatile R5QualityLadder mQualityLadder;
+    // Stream name requested by subscribe, and the variant of it being played. Worker only.
+    protected String mBaseStreamName;
+    protected R5QualityLadder.Variant mVariant;
+    // Only written on the command worker; read on the main thread to skip posting a resume.
+    protected volatile boolean mVideoSuspended;
+    // Subscribers: the render thread of the video surface is paused. Main thread only.
+    protected boolean mPlaybackSuspended;
+
+    protected boolean mAutoReconnect = false;
+    protected ReconnectConfig mReconnectConfig = new ReconnectConfig();
+    protected ReconnectScheduler mReconnectScheduler;
+
+    // Last applied props, and the props of the update being received. Main thread only.
+    protected R5ViewProps mProps;
+    protected R5ViewProps.Builder mPendingProps;
 
     public enum Events {
 
-        CONFIGURED("onConfigured"),
-        METADATA("onMetaDataEvent"),
-        PUBLISHER_STATUS("onPublisherStreamStatus"),
-        SUBSCRIBER_STATUS("onSubscriberStreamStatus"),
-        UNPUBLISH_NOTIFICATION("onUnpublishNotification"),
-        UNSUBSCRIBE_NOTIFICATION("onUnsubscribeNotification");
+        CONFIGURED("onConfigured", R5EventDispatcher.Policy.DELIVER),
+        METADATA("onMetaDataEvent", R5EventDispatcher.Policy.MERGE_LATEST),
+        PUBLISHER_STATUS("onPublisherStreamStatus", R5EventDispatcher.Policy.MERGE_REPEATED),
+        SUBSCRIBER_STATUS("onSubscriberStreamStatus", R5EventDispatcher.Policy.MERGE_REPEATED),
+        UNPUBLISH_NOTIFICATION("onUnpublishNotification", R5EventDispatcher.Policy.DELIVER),
+        UNSUBSCRIBE_NOTIFICATION("onUnsubscribeNotification", R5EventDispatcher.Policy.DELIVER),
+        CAMERA_SWAPPED("onCameraSwapped", R5EventDispatcher.Policy.DELIVER),
+        COMMAND_RESULT("onCommandResult", R5EventDispatcher.Policy.DELIVER),
+        STARTUP_METRICS("onStartupMetrics", R5EventDispatcher.Policy.DELIVER),
+        ADAPTIVE_BITRATE_CHANGE("onAdaptiveBitrateChange", R5EventDispatcher.Policy.DELIVER),
+        PUBLISH_SETTINGS_CHANGE("onPublishSettingsChange", R5EventDispatcher.Policy.MERGE_LATEST),
+        STREAM_STATS("onStreamStats", R5EventDispatcher.Policy.DELIVER),
+        RECONNECT("onReconnect", R5EventDispatcher.Policy.DELIVER),
+        BACKGROUND_STATE_CHANGE("onBackgroundStateChange", R5EventDispatcher.Policy.DELIVER),
+        STATE_CHANGE("onStateChange", R5EventDispatcher.Policy.DELIVER),
+        QUALITY_CHANGE("onQualityChange", R5EventDispatcher.Policy.DELIVER);
 
         private final String mName;
+        private final R5EventDispatcher.Policy mDispatchPolicy;
 
-        Events(final String name) {
+        Events(final String name, final R5EventDispatcher.Policy policy) {
             mName = name;
+            mDispatchPolicy = policy;
+        }
+
+        public final R5EventDispatcher.Policy getDispatchPolicy() {
+            return mDispatchPolicy;
         }
 
         @Override
@@ -98,7 +190,8 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
         UNSUBSCRIBE("unsubscribe", 3),
         UNPUBLISH("unpublish", 4),
         SWAP_CAMERA("swapCamera", 5),
-        UPDATE_SCALE_MODE("updateScaleMode", 6);
+        UPDATE_SCALE_MODE("updateScaleMode", 6),
+        PRECONNECT("preconnect", 7);
 
         private final String mName;
         private final int mValue;
@@ -119,12 +212,23 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
 
     }
 
-    R5VideoViewLayout(ThemedReactContext context) {
+    R5VideoViewLayout(ThemedReactContext context, R5StreamProvider streamProvider) {
+        this(context, streamProvider, context.getJSModule(RCTEventEmitter.class));
+    }
+
+    /**
+     * Delivers events to eventEmitter instead of JS, as used by {@link R5LoadHarness}.
+     */
+    R5VideoViewLayout(ThemedReactContext context, R5StreamProvider streamProvider, RCTEventEmitter eventEmitter) {
 
         super(context);
 
         mContext = context;
-        mEventEmitter = mContext.getJSModule(RCTEventEmitter.class);
+        mStreamProvider = streamProvider;
+        mEventEmitter = eventEmitter;
+        mEventDispatcher = new R5EventDispatcher(this, mEventEmitter);
+        mCommandWorker = new R5CommandWorker("R5VideoViewWorker", this);
+        mRotationTracker = new RotationTracker(context, this);
         setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
         mContext.addLifecycleEventListener(this);
         mVideoView = this;
@@ -133,12 +237,35 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
 
     public void loadConfiguration(R5Configuration configuration, String forKey) {
 
+        if (!mState.is(R5StreamState.State.IDLE) && !mState.is(R5StreamState.State.CONFIGURED)) {
+            // Swapping the connection of a running stream would orphan it.
+            Trace.record(Trace.WARN, TraceEvent.STATE_REJECTED, getId(),
+                    mState.get().ordinal(), R5StreamState.State.CONFIGURED.ordinal());
+            return;
+        }
+
         R5AudioController.mode = mAudioMode == 1
                 ? R5AudioController.PlaybackMode.STANDARD
                 : R5AudioController.PlaybackMode.AEC;
 
-        mConnection = new R5Connection(configuration);
-        mStream = new R5Stream(mConnection);
+        recycleUnusedSession();
+
+        // The configuration passed in is shared through the cache; the SDK gets a copy.
+        mConfiguration = R5ConfigurationFactory.copyOf(configuration);
+        R5SessionPool.Session session = mStreamProvider.isPoolable()
+                ? R5SessionPool.getInstance().acquire(configuration)
+                : null;
+        if (session != null) {
+            mConnection = session.connection;
+            mStream = session.stream;
+        }
+        else {
+            mConnection = mStreamProvider.createConnection(mConfiguration);
+            mStream = mStreamProvider.createStream(mConnection);
+        }
+        mStreamStarted = false;
+        ResourceTracker.getInstance().acquire(ResourceTracker.Resource.CONNECTION);
+        ResourceTracker.getInstance().acquire(ResourceTracker.Resource.STREAM);
 
         mStream.setListener(this);
         mStream.client = this;
@@ -146,28 +273,220 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
         mStream.setLogLevel(logLevel);
         mStream.setScaleMode(scaleMode);
 
+        mState.moveTo(R5StreamState.State.CONFIGURED);
+        mLifecycleTimer.mark(LifecycleTimer.Mark.CONFIGURED);
         onConfigured(forKey);
 
     }
 
+    /**
+     * Main thread. Returns the builder collecting the props of the current update.
+     */
+    public R5ViewProps.Builder editProps() {
+        if (mPendingProps == null) {
+            mPendingProps = mProps != null ? mProps.buildUpon() : new R5ViewProps.Builder();
+        }
+        return mPendingProps;
+    }
+
+    /**
+     * Main thread. Applies the props collected since the last commit, once per update.
+     */
+    public void commitProps() {
+        R5ViewProps.Builder pending = mPendingProps;
+        if (pending == null) {
+            return;
+        }
+        mPendingProps = null;
+        R5ViewProps previous = mProps;
+        mProps = pending.build();
+        applyProps(previous, mProps);
+    }
+
+    /**
+     * Applies the props that differ from the previous snapshot, or all of them on the first
+     * update. Settings read when the stream is created are applied before the configuration,
+     * and the stream is only recreated when a connection-affecting field changed.
+     */
+    protected void applyProps(R5ViewProps previous, R5ViewProps props) {
+
+        boolean all = previous == null;
+
+        if (all || props.logLevel != previous.logLevel) {
+            updateLogLevel(props.logLevel);
+        }
+        if (all || props.scaleMode != previous.scaleMode) {
+            updateScaleMode(props.scaleMode);
+        }
+        if (all || props.showDebug != previous.showDebug) {
+            updateShowDebug(props.showDebug);
+        }
+        if (all || props.audioMode != previous.audioMode) {
+            updateSubscriberAudioMode(props.audioMode);
+        }
+
+        // Publish settings changed while publishing are applied together by a single
+        // coalesced update.
+        if (all || props.publishVideo != previous.publishVideo) {
+            updatePublishVideo(props.publishVideo);
+        }
+        if (all || props.publishAudio != previous.publishAudio) {
+            updatePublishAudio(props.publishAudio);
+        }
+        if (all || props.cameraWidth != previous.cameraWidth) {
+            updateCameraWidth(props.cameraWidth);
+        }
+        if (all || props.cameraHeight != previous.cameraHeight) {
+            updateCameraHeight(props.cameraHeight);
+        }
+        if (all || props.bitrate != previous.bitrate) {
+            updatePublishBitrate(props.bitrate);
+        }
+        if (all || props.framerate != previous.framerate) {
+            updatePublishFramerate(props.framerate);
+        }
+        if (all || props.audioBitrate != previous.audioBitrate) {
+            updatePublishAudioBitrate(props.audioBitrate);
+        }
+        if (all || props.audioSampleRate != previous.audioSampleRate) {
+            updatePublishAudioSampleRate(props.audioSampleRate);
+        }
+        if (all || props.useAdaptiveBitrateController != previous.useAdaptiveBitrateController) {
+            updatePublisherUseAdaptiveBitrateController(props.useAdaptiveBitrateController);
+        }
+        if (all || props.adaptiveBitrateConfig != previous.adaptiveBitrateConfig) {
+            updateAdaptiveBitrateConfig(props.adaptiveBitrateConfig);
+        }
+        if (all || props.useBackfacingCamera != previous.useBackfacingCamera) {
+            updatePublisherUseBackfacingCamera(props.useBackfacingCamera);
+        }
+        if (all || props.backgroundPolicy != previous.backgroundPolicy) {
+            updateBackgroundPolicy(props.backgroundPolicy);
+        }
+
+        if (all || props.reconnectConfig != previous.reconnectConfig) {
+            updateReconnectConfig(props.reconnectConfig);
+        }
+        if (all || props.autoReconnect != previous.autoReconnect) {
+            updateAutoReconnect(props.autoReconnect);
+        }
+
+        if (all || props.qualityLadder != previous.qualityLadder) {
+            mQualityLadder = props.qualityLadder;
+            requestQualityUpdate();
+        }
+
+        if (all || props.statsInterval != previous.statsInterval
+                || props.statsBatchSize != previous.statsBatchSize) {
+            mStatsInterval = props.statsInterval;
+            mStatsBatchSize = props.statsBatchSize;
+            if (isStreaming()) {
+                startStatsSampling();
+            }
+        }
+
+        boolean configurationChanged = all
+                ? props.configuration != null || props.configurationKey != null
+                : props.configuration != previous.configuration
+                || !sameKey(props.configurationKey, previous.configurationKey);
+        // A stopped stream is released, so the next start needs the configuration loaded
+        // again even when a re-render hands over the same cached configuration.
+        boolean needsStream = props.configuration != null
+                && (mStream == null || mState.is(R5StreamState.State.IDLE));
+        if (configurationChanged || needsStream) {
+            R5Configuration current = all ? null : previous.configuration;
+            if (needsStream || current == null || props.configuration == null
+                    || !R5SessionPool.keyOf(current).equals(R5SessionPool.keyOf(props.configuration))) {
+                loadConfiguration(props.configuration, props.configurationKey);
+            }
+            else {
+                // Same server and stream settings: keep the connection and stream.
+                mConfiguration = R5ConfigurationFactory.copyOf(props.configuration);
+                mLifecycleTimer.mark(LifecycleTimer.Mark.CONFIGURED);
+                onConfigured(props.configurationKey);
+            }
+        }
+
+    }
+
+    private static boolean sameKey(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Queues stream lifecycle work for the command on this view's worker thread.
+     * The outcome is reported to JS through onCommandResult.
+     */
+    public void runCommand(Commands command, Runnable task) {
+        if (command == Commands.SUBSCRIBE || command == Commands.PUBLISH) {
+            mLifecycleTimer.mark(LifecycleTimer.Mark.COMMAND_RECEIVED);
+        }
+        if (!mCommandWorker.execute(command, task)) {
+            onCommandComplete(command, 0, new IllegalStateException("View has been released."));
+        }
+    }
+
+    /**
+     * Hands a configured but never started connection and stream back to the shared pool,
+     * so a later configuration with the same server settings can reuse them.
+     */
+    protected void recycleUnusedSession() {
+
+        if (mStream == null || mConnection == null || mStreamStarted
+                || mConnection.getConfiguration() == null || !mStreamProvider.isPoolable()) {
+            return;
+        }
+        R5SessionPool.getInstance().offer(new R5SessionPool.Session(
+                R5SessionPool.keyOf(mConnection.getConfiguration()), mConnection, mStream));
+        mStream = null;
+        mConnection = null;
+        // The pool owns them from here.
+        ResourceTracker.getInstance().release(ResourceTracker.Resource.STREAM);
+        ResourceTracker.getInstance().release(ResourceTracker.Resource.CONNECTION);
+
+    }
+
     public void subscribe (String streamName) {
+        subscribe(streamName, 0, 0);
+    }
+
+    /**
+     * Subscribes to the variant of streamName that best fits a view of the given size in
+     * pixels, or to streamName itself without a quality ladder.
+     */
+    public void subscribe (String streamName, int viewWidth, int viewHeight) {
 
+        enter(Commands.SUBSCRIBE, R5StreamState.State.CONFIGURED, R5StreamState.State.CONNECTING);
+        mBaseStreamName = streamName;
+        mVariant = null;
         mStreamName = streamName;
+        R5QualityLadder ladder = mQualityLadder;
+        if (ladder != null) {
+            selectVariant(ladder.select(viewWidth, viewHeight), viewWidth, viewHeight);
+        }
+        mStreamStarted = true;
+        mLifecycleTimer.mark(LifecycleTimer.Mark.COMMAND_STARTED);
 
-        mVideoView.attachStream(mStream);
-        mVideoView.showDebugView(showDebug);
-        mStream.play(streamName);
+        final R5Stream stream = mStream;
+        R5CommandWorker.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                mVideoView.attachStream(stream);
+                mVideoView.showDebugView(showDebug);
+            }
+        });
+        stream.play(mStreamName);
 
     }
 
     public void unsubscribe () {
 
-        if (mStream != null && mIsStreaming) {
+        if (beginStop(Commands.UNSUBSCRIBE)) {
             mStream.stop();
         }
         else {
             WritableMap map = Arguments.createMap();
-            mEventEmitter.receiveEvent(this.getId(), Events.UNPUBLISH_NOTIFICATION.toString(), map);
+            mEventDispatcher.dispatch(Events.UNPUBLISH_NOTIFICATION, map);
             cleanup();
         }
 
@@ -175,49 +494,68 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
 
     public void publish (String streamName, R5Stream.RecordType streamType) {
 
+        enter(Commands.PUBLISH, R5StreamState.State.CONFIGURED, R5StreamState.State.CONNECTING);
         mStreamName = streamName;
+        mRecordType = streamType;
+        mStreamStarted = true;
+        mLifecycleTimer.mark(LifecycleTimer.Mark.COMMAND_STARTED);
         mIsPublisher = true;
         if (mLayoutListener == null) {
             mLayoutListener = setUpOrientationListener();
         }
 
-        R5Camera camera = null;
+        R5LiveCamera camera = null;
         // Establish Camera if requested.
         if (mUseVideo) {
 
+            // A device left over from a previous session would keep the new one from opening.
+            closeCameraDevice();
             Camera device = mUseBackfacingCamera
                     ? openBackFacingCameraGingerbread()
                     : openFrontFacingCameraGingerbread();
+            if (device == null) {
+                throw new IllegalStateException("Unable to open camera.");
+            }
 
             updateDeviceOrientationOnLayoutChange();
-            int rotate = mUseBackfacingCamera ? 0 : 180;
-            device.setDisplayOrientation((mCameraOrientation + rotate) % 360);
-
-            SurfaceView v = new SurfaceView(mContext);
-            v.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
-            mStream.setView(v);
-            addView(v);
+            device.setDisplayOrientation(OrientationMath.previewOrientation(mCameraOrientation, mUseBackfacingCamera));
+
+            final R5Stream stream = mStream;
+            R5CommandWorker.runOnMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    releasePreviewSurface.run();
+                    SurfaceView v = new SurfaceView(mContext);
+                    v.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+                    stream.setView(v);
+                    addView(v);
+                    mPreviewSurface = v;
+                    ResourceTracker.getInstance().acquire(ResourceTracker.Resource.SURFACE);
+                }
+            });
 
-            camera = new R5Camera(device, mCameraWidth, mCameraHeight);
+            camera = new R5LiveCamera(device, mCameraWidth, mCameraHeight);
             camera.setBitrate(mBitrate);
             camera.setOrientation(mCameraOrientation);
             camera.setFramerate(mFramerate);
 
             mCamera = camera;
+            mPublishedWidth = mCameraWidth;
+            mPublishedHeight = mCameraHeight;
 
         }
 
-        // Assign ABR Controller if requested.
-        if (mUseAdaptiveBitrateController) {
-            R5AdaptiveBitrateController adaptor = new R5AdaptiveBitrateController();
-            adaptor.AttachStream(mStream);
+        // Assign ABR engine if requested.
+        if (mUseAdaptiveBitrateController && mUseVideo) {
+            startAdaptiveBitrate();
         }
         // Establish Microphone if requested.
         if (mUseAudio) {
 
-            R5Microphone mic = new R5Microphone();
+            R5Microphone mic = mStreamProvider.createMicrophone();
             mStream.attachMic(mic);
             mic.setBitRate(mAudioBitrate);
+            adoptMicrophone(mic);
             mStream.audioController.sampleRate = mAudioSampleRate;
             // e.g., ->
             // This is required to be 8000 in order for 2-Way to work.
@@ -225,13 +563,24 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
 
         }
 
-        mVideoView.attachStream(mStream);
+        final R5Stream stream = mStream;
+        R5CommandWorker.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                mVideoView.attachStream(stream);
+            }
+        });
 
         if (mCamera != null && mUseVideo) {
             mStream.attachCamera(camera);
         }
 
-        mVideoView.showDebugView(showDebug);
+        R5CommandWorker.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                mVideoView.showDebugView(showDebug);
+            }
+        });
         mStream.publish(streamName, streamType);
 
         if (mCamera != null && mUseVideo) {
@@ -242,272 +591,1014 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
 
     public void unpublish () {
 
-        if (mStream != null && mIsStreaming) {
-            if(mStream.getVideoSource() != null) {
-                Camera c = mCamera.getCamera();
-                c.stopPreview();
-                c.release();
-            }
+        if (beginStop(Commands.UNPUBLISH)) {
+            closeCameraDevice();
+            mVideoSuspended = false;
             mStream.stop();
         }
         else {
             WritableMap map = Arguments.createMap();
-            mEventEmitter.receiveEvent(this.getId(), Events.UNPUBLISH_NOTIFICATION.toString(), map);
+            mEventDispatcher.dispatch(Events.UNPUBLISH_NOTIFICATION, map);
+            cleanup();
+        }
+
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        requestQualityUpdate();
+    }
+
+    /**
+     * Main thread. Re-evaluates the subscribed variant once resizing has settled, e.g. after
+     * a tile has been promoted to full screen.
+     */
+    protected void requestQualityUpdate() {
+        removeCallbacks(evaluateQuality);
+        if (mQualityLadder != null && !mIsPublisher) {
+            postDelayed(evaluateQuality, QUALITY_SETTLE_MS);
+        }
+    }
+
+    private final Runnable evaluateQuality = new Runnable() {
+        @Override
+        public void run() {
+            if (!isStreaming()) {
+                return;
+            }
+            final int width = getWidth();
+            final int height = getHeight();
+            mCommandWorker.post(new Runnable() {
+                @Override
+                public void run() {
+                    switchVariant(width, height);
+                }
+            });
+        }
+    };
+
+    /**
+     * Runs on the worker. Replaces the playing stream with the variant fitting a view of the
+     * given size, if that is a different one. The view, its surface and the state machine
+     * go through the same CONNECTING phase as a reconnect.
+     */
+    protected void switchVariant(int viewWidth, int viewHeight) {
+
+        R5QualityLadder ladder = mQualityLadder;
+        if (ladder == null || mIsPublisher || mBaseStreamName == null) {
+            return;
+        }
+        R5QualityLadder.Variant variant = ladder.select(viewWidth, viewHeight);
+        if (mVariant != null && variant.suffix.equals(mVariant.suffix)) {
+            return;
+        }
+        if (!mState.compareAndSet(R5StreamState.State.STREAMING, R5StreamState.State.CONNECTING)) {
+            return;
+        }
+
+        mStatsSampler.stop();
+        releaseStream(true);
+        selectVariant(variant, viewWidth, viewHeight);
+        try {
+            reconnectStream();
+        } catch (RuntimeException e) {
+            Trace.error(TraceEvent.STREAM_ERROR, getId(), 0, e);
+            mEventDispatcher.dispatch(Events.UNSUBSCRIBE_NOTIFICATION, new WritableNativeMap());
             cleanup();
         }
 
     }
 
+    protected void selectVariant(R5QualityLadder.Variant variant, int viewWidth, int viewHeight) {
+
+        mVariant = variant;
+        mStreamName = variant.streamNameFor(mBaseStreamName);
+        Trace.record(Trace.INFO, TraceEvent.QUALITY_CHANGE, getId(), variant.width, viewWidth);
+
+        WritableMap map = new WritableNativeMap();
+        map.putString("streamName", mStreamName);
+        map.putString("suffix", variant.suffix);
+        map.putInt("width", variant.width);
+        map.putInt("height", variant.height);
+        map.putInt("viewWidth", viewWidth);
+        map.putInt("viewHeight", viewHeight);
+        mEventDispatcher.dispatch(Events.QUALITY_CHANGE, map);
+
+    }
+
+    /**
+     * Moves the state from expected to next, or rejects the command.
+     */
+    protected void enter(Commands command, R5StreamState.State expected, R5StreamState.State next) {
+        if (!mState.compareAndSet(expected, next)) {
+            throw rejected(command, next);
+        }
+    }
+
+    protected IllegalStateException rejected(Commands command, R5StreamState.State next) {
+        R5StreamState.State current = mState.get();
+        Trace.record(Trace.WARN, TraceEvent.STATE_REJECTED, getId(), current.ordinal(), next.ordinal());
+        return new IllegalStateException("Cannot " + command + " while " + current + ".");
+    }
+
+    /**
+     * Moves a connecting or streaming view to STOPPING. Once this has run, a late
+     * START_STREAMING of the current attempt is ignored, so the caller alone decides how
+     * the stream ends. A second stop is rejected.
+     *
+     * @return true if the stream was streaming and its DISCONNECTED will clean up.
+     */
+    protected boolean beginStop(Commands command) {
+        R5StreamState.State previous = mState.moveTo(R5StreamState.State.STOPPING);
+        if (previous == null && mState.is(R5StreamState.State.STOPPING)) {
+            throw rejected(command, R5StreamState.State.STOPPING);
+        }
+        return previous == R5StreamState.State.STREAMING && mStream != null;
+    }
+
     public void swapCamera () {
 
-        if (!mIsPublisher) {
+        if (!mIsPublisher || mVideoSuspended) {
             return;
         }
 
+        long start = System.nanoTime();
         Camera updatedCamera;
 
         // NOTE: Some devices will throw errors if you have a camera open when you attempt to open another
-        mCamera.getCamera().stopPreview();
-        mCamera.getCamera().release();
+        closeCameraDevice();
 
-        // NOTE: The front facing camera needs to be 180 degrees further rotated than the back facing camera
-        int rotate = 0;
         if (!mUseBackfacingCamera) {
             updatedCamera = openBackFacingCameraGingerbread();
-            rotate = 0;
         }
         else {
             updatedCamera = openFrontFacingCameraGingerbread();
-            rotate = 180;
         }
 
         if(updatedCamera != null) {
 
-            updatedCamera.setDisplayOrientation((mCameraOrientation + rotate) % 360);
+            updatedCamera.setDisplayOrientation(OrientationMath.previewOrientation(mCameraOrientation, !mUseBackfacingCamera));
             mCamera.setCamera(updatedCamera);
             mCamera.setOrientation(mCameraOrientation);
 
             updatedCamera.startPreview();
             mUseBackfacingCamera = !mUseBackfacingCamera;
             mStream.updateStreamMeta();
+
+            onCameraSwapped(System.nanoTime() - start);
         }
 
     }
 
+    /**
+     * Tears the stream down on the command worker, which owns the camera and stream state.
+     * Called from SDK callbacks and the main thread as well, in which case it is queued behind
+     * pending commands; once the worker is released it runs on the calling thread.
+     */
     protected void cleanup() {
 
-        if (mStream != null) {
-            mStream.setListener(null);
-            mStream = null;
-        }
-
-        if (mConnection != null) {
-            mConnection.removeListener();
-            mConnection = null;
+        if (mCommandWorker.isWorkerThread() || !mCommandWorker.post(performCleanup)) {
+            performCleanup.run();
         }
-        mIsStreaming = false;
 
     }
 
-    protected View.OnLayoutChangeListener setUpOrientationListener() {
-        return new View.OnLayoutChangeListener() {
-            @Override
-            public void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft,
-                                       int oldTop, int oldRight, int oldBottom) {
-                if (mOrientationDirty) {
-                    reorient();
-                }
-            }
-        };
-    }
+    private final Runnable performCleanup = new Runnable() {
+        @Override
+        public void run() {
+            cleanupOnWorker();
+        }
+    };
 
-    protected void reorient() {
+    private void cleanupOnWorker() {
 
-        if (mCamera != null) {
-            int rotate = mUseBackfacingCamera ? 0 : 180;
-            int displayOrientation = (mDisplayOrientation + rotate) % 360;
-            mCamera.setOrientation(mCameraOrientation);
-            mCamera.getCamera().setDisplayOrientation(displayOrientation);
-            mStream.updateStreamMeta();
+        if (mReconnectScheduler != null) {
+            mReconnectScheduler.cancel();
         }
-        mOrientationDirty = false;
+        mStatsSampler.stop();
+        mCommandWorker.removeCallbacks(sampleAdaptiveBitrate);
+        mAdaptiveBitrateEngine = null;
+
+        closeCameraDevice();
+        mVideoSuspended = false;
+        mCamera = null;
+        recycleUnusedSession();
+        // A stream that was started but never got to streaming is still connecting.
+        releaseStream(mStreamStarted);
+        UiThreadUtil.runOnUiThread(releasePreviewSurface);
+        mState.moveTo(R5StreamState.State.IDLE);
+        mStreamOrientation = Integer.MIN_VALUE;
 
     }
 
-    protected void updateDeviceOrientationOnLayoutChange() {
+    /**
+     * Takes ownership of a newly opened camera device.
+     */
+    protected void adoptCamera(Camera device) {
+        mCameraDevice = device;
+        ResourceTracker.getInstance().acquire(ResourceTracker.Resource.CAMERA);
+    }
 
-        int degrees = 0;
-        int rotation = mContext.getCurrentActivity().getWindowManager().getDefaultDisplay().getRotation();
+    /**
+     * Stops the preview of and releases the camera device this view owns, if any.
+     */
+    protected void closeCameraDevice() {
 
-        switch (rotation) {
-            case Surface.ROTATION_0: degrees = 0; break;
-            case Surface.ROTATION_90: degrees = 270; break;
-            case Surface.ROTATION_180: degrees = 180; break;
-            case Surface.ROTATION_270: degrees = 90; break;
+        Camera device = mCameraDevice;
+        if (device == null) {
+            return;
         }
-
-        mDisplayOrientation = (mOrigCamOrientation + degrees) % 360;
-        mCameraOrientation = rotation % 2 != 0 ? mDisplayOrientation - 180 : mDisplayOrientation;
-        if (mUseBackfacingCamera && (rotation % 2 != 0)) {
-            mCameraOrientation += 180;
+        mCameraDevice = null;
+        try {
+            device.stopPreview();
+        } catch (RuntimeException e) {
+            Trace.error(TraceEvent.CAMERA_ERROR, getId(), 0, e);
         }
-        mOrientationDirty = true;
+        device.release();
+        ResourceTracker.getInstance().release(ResourceTracker.Resource.CAMERA);
 
     }
 
-    protected void applyDeviceRotation () {
-
-        int degrees = 0;
-        int rotation = mContext.getCurrentActivity().getWindowManager().getDefaultDisplay().getRotation();
+    protected void adoptMicrophone(R5Microphone mic) {
+        mMicrophone = mic;
+        ResourceTracker.getInstance().acquire(ResourceTracker.Resource.MICROPHONE);
+    }
 
-        switch (rotation) {
-            case Surface.ROTATION_0: degrees = 0; break;
-            case Surface.ROTATION_90: degrees = 90; break;
-            case Surface.ROTATION_180: degrees = 180; break;
-            case Surface.ROTATION_270: degrees = 270; break;
+    /**
+     * Releases the stream and connection this view owns, in that order, together with the
+     * microphone attached to the stream. Stopping the stream stops recording from the
+     * microphone and closes the connection; pass false when both have already been lost.
+     */
+    protected void releaseStream(boolean stop) {
+
+        R5Stream stream = mStream;
+        R5Connection connection = mConnection;
+        mStream = null;
+        mConnection = null;
+        ResourceTracker tracker = ResourceTracker.getInstance();
+
+        if (stream != null) {
+            stream.setListener(null);
+            stream.client = null;
+            if (stop) {
+                try {
+                    stream.stop();
+                } catch (RuntimeException e) {
+                    Trace.error(TraceEvent.STREAM_ERROR, getId(), 0, e);
+                }
+            }
+            if (mMicrophone != null) {
+                mMicrophone = null;
+                tracker.release(ResourceTracker.Resource.MICROPHONE);
+            }
+            tracker.release(ResourceTracker.Resource.STREAM);
+        }
+        if (connection != null) {
+            connection.removeListener();
+            tracker.release(ResourceTracker.Resource.CONNECTION);
         }
-
-        mCameraOrientation += degrees;
-        mCameraOrientation = mCameraOrientation % 360;
-        mOrigCamOrientation = mCameraOrientation;
 
     }
 
-    protected void applyInverseDeviceRotation(){
-
-        int degrees = 0;
-        int rotation = mContext.getCurrentActivity().getWindowManager().getDefaultDisplay().getRotation();
-
-        switch (rotation) {
-            case Surface.ROTATION_0: degrees = 0; break;
-            case Surface.ROTATION_90: degrees = 270; break;
-            case Surface.ROTATION_180: degrees = 180; break;
-            case Surface.ROTATION_270: degrees = 90; break;
+    /**
+     * Main thread. Removes the publisher preview surface added to this view.
+     */
+    private final Runnable releasePreviewSurface = new Runnable() {
+        @Override
+        public void run() {
+            SurfaceView surface = mPreviewSurface;
+            if (surface == null) {
+                return;
+            }
+            mPreviewSurface = null;
+            removeView(surface);
+            ResourceTracker.getInstance().release(ResourceTracker.Resource.SURFACE);
         }
+    };
 
-        mCameraOrientation += degrees;
-        mCameraOrientation = mCameraOrientation % 360;
-        mOrigCamOrientation = mCameraOrientation;
-
+    protected boolean isReconnecting() {
+        ReconnectScheduler scheduler = mReconnectScheduler;
+        return scheduler != null && scheduler.isActive();
     }
 
-    protected Camera openFrontFacingCameraGingerbread() {
+    /**
+     * Keeps the view, its surface and the camera, drops only the lost connection and starts
+     * the reconnect sequence. The view has already moved back to CONNECTING.
+     */
+    protected void beginReconnect() {
 
-        int cameraCount = 0;
-        Camera cam = null;
-        Camera.CameraInfo cameraInfo = new Camera.CameraInfo();
-        cameraCount = Camera.getNumberOfCameras();
-        for (int camIdx = 0; camIdx < cameraCount; camIdx++) {
-            Camera.getCameraInfo(camIdx, cameraInfo);
-            if (cameraInfo.facing == Camera.CameraInfo.CAMERA_FACING_FRONT) {
-                try {
-                    cam = Camera.open(camIdx);
-                    mCameraOrientation = cameraInfo.orientation;
-                    applyDeviceRotation();
-                    break;
-                } catch (RuntimeException e) {
-                    e.printStackTrace();
-                }
-            }
+        mStatsSampler.stop();
+        detachStream();
+        if (mReconnectScheduler == null) {
+            mReconnectScheduler = new ReconnectScheduler(mReconnectConfig, mReconnectTimer, new Random());
+            mReconnectScheduler.setListener(this);
         }
+        mReconnectScheduler.start();
 
-        return cam;
+    }
 
+    /**
+     * Silences and forgets the current stream and connection without stopping them; they
+     * have already been lost.
+     */
+    protected void detachStream() {
+        releaseStream(false);
     }
 
-    protected Camera openBackFacingCameraGingerbread() {
+    @Override
+    public void onReconnectAttempt(int attempt, long delayMs) {
 
-        int cameraCount = 0;
-        Camera cam = null;
-        Camera.CameraInfo cameraInfo = new Camera.CameraInfo();
-        cameraCount = Camera.getNumberOfCameras();
-        for (int camIdx = 0; camIdx < cameraCount; camIdx++) {
-            Camera.getCameraInfo(camIdx, cameraInfo);
-            if (cameraInfo.facing == Camera.CameraInfo.CAMERA_FACING_BACK) {
-                try {
-                    cam = Camera.open(camIdx);
-                    mCameraOrientation = cameraInfo.orientation;
-                    applyInverseDeviceRotation();
-                    break;
-                } catch (RuntimeException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
+        Trace.record(Trace.INFO, TraceEvent.RECONNECT_ATTEMPT, getId(), attempt, delayMs);
 
-        return cam;
+        WritableMap map = new WritableNativeMap();
+        map.putString("state", "attempting");
+        map.putInt("attempt", attempt);
+        map.putDouble("delay", delayMs);
+        mEventDispatcher.dispatch(Events.RECONNECT, map);
+
+        if (!mCommandWorker.post(reconnect)) {
+            mReconnectScheduler.cancel();
+        }
 
     }
 
-    protected void onConfigured(String key) {
+    @Override
+    public void onReconnectFailed(int attempts, long elapsedMs, String reason) {
+
         WritableMap map = new WritableNativeMap();
-        map.putString("key", key);
-        mEventEmitter.receiveEvent(this.getId(), "onConfigured", map);
-    }
+        map.putString("state", "failed");
+        map.putInt("attempts", attempts);
+        map.putDouble("elapsed", elapsedMs);
+        map.putString("reason", reason);
+        mEventDispatcher.dispatch(Events.RECONNECT, map);
+
+        WritableMap evt = new WritableNativeMap();
+        mEventDispatcher.dispatch(mIsPublisher ? Events.UNPUBLISH_NOTIFICATION : Events.UNSUBSCRIBE_NOTIFICATION, evt);
+        cleanup();
 
-    protected void updateOrientation(int value) {
-        // subscriber only.
-        value += 90;
-        this.getVideoView().setStreamRotation(value);
     }
 
-    public void onMetaData(String metadata) {
+    private final Runnable reconnect = new Runnable() {
+        @Override
+        public void run() {
 
-        String[] props = metadata.split(";");
-        for (String s : props) {
-            String[] kv = s.split("=");
-            if (kv[0].equalsIgnoreCase("orientation")) {
-                updateOrientation(Integer.parseInt(kv[1]));
+            if (!isReconnecting() || !mState.is(R5StreamState.State.CONNECTING)) {
+                return;
+            }
+            try {
+                reconnectStream();
+            } catch (RuntimeException e) {
+                Trace.error(TraceEvent.STREAM_ERROR, getId(), mReconnectScheduler.getAttempt(), e);
+                detachStream();
+                mReconnectScheduler.onAttemptFailed(String.valueOf(e.getMessage()));
             }
-        }
-        WritableMap map = new WritableNativeMap();
-        map.putString("metadata", metadata);
-        mEventEmitter.receiveEvent(this.getId(), Events.METADATA.toString(), map);
 
-    }
+        }
+    };
 
-    @Override
-    public void onConnectionEvent(R5ConnectionEvent event) {
+    /**
+     * Runs on the worker. Rebuilds the connection and stream, and re-attaches the retained
+     * surface, camera and view.
+     */
+    protected void reconnectStream() {
+
+        final R5Connection connection = mStreamProvider.createConnection(mConfiguration);
+        final R5Stream stream = mStreamProvider.createStream(connection);
+        stream.setListener(this);
+        stream.client = this;
+        stream.setLogLevel(logLevel);
+        stream.setScaleMode(scaleMode);
+        mConnection = connection;
+        mStream = stream;
+        ResourceTracker.getInstance().acquire(ResourceTracker.Resource.CONNECTION);
+        ResourceTracker.getInstance().acquire(ResourceTracker.Resource.STREAM);
 
-        Log.d("R5VideoViewLayout", ":onConnectionEvent " + event.name());
-        WritableMap map = new WritableNativeMap();
-        WritableMap statusMap = new WritableNativeMap();
-        statusMap.putInt("code", event.value());
-        statusMap.putString("message", event.message);
-        statusMap.putString("name", event.name());
-        statusMap.putString("streamName", mStreamName);
-        map.putMap("status", statusMap);
-        if (mIsPublisher) {
-            mEventEmitter.receiveEvent(this.getId(), Events.PUBLISHER_STATUS.toString(), map);
-        }
-        else {
-            mEventEmitter.receiveEvent(this.getId(), Events.SUBSCRIBER_STATUS.toString(), map);
+        if (!mIsPublisher) {
+            R5CommandWorker.runOnMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    mVideoView.attachStream(stream);
+                }
+            });
+            stream.play(mStreamName);
+            return;
         }
 
-        if (event == R5ConnectionEvent.START_STREAMING) {
-            mIsStreaming = true;
+        final SurfaceView surface = mPreviewSurface;
+        if (mUseAudio) {
+            R5Microphone mic = mStreamProvider.createMicrophone();
+            stream.attachMic(mic);
+            mic.setBitRate(mAudioBitrate);
+            stream.audioController.sampleRate = mAudioSampleRate;
+            adoptMicrophone(mic);
         }
-        else if (event == R5ConnectionEvent.DISCONNECTED && mIsStreaming) {
-            WritableMap evt = new WritableNativeMap();
-            if (mIsPublisher) {
-                mEventEmitter.receiveEvent(this.getId(), Events.UNPUBLISH_NOTIFICATION.toString(), evt);
-            }
-            else {
-                mEventEmitter.receiveEvent(this.getId(), Events.UNSUBSCRIBE_NOTIFICATION.toString(), evt);
+        R5CommandWorker.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                if (surface != null) {
+                    stream.setView(surface);
+                }
+                mVideoView.attachStream(stream);
             }
-            cleanup();
-            mIsStreaming = false;
+        });
+        if (mCamera != null && mUseVideo) {
+            stream.attachCamera(mCamera);
         }
+        stream.publish(mStreamName, mRecordType);
 
     }
 
-    @Override
+    private final ReconnectScheduler.Timer mReconnectTimer = new ReconnectScheduler.Timer() {
+        @Override
+        public long now() {
+            return SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public void schedule(Runnable task, long delayMs) {
+            postDelayed(task, delayMs);
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            removeCallbacks(task);
+        }
+    };
+
+    protected View.OnLayoutChangeListener setUpOrientationListener() {
+        return new View.OnLayoutChangeListener() {
+            @Override
+            public void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft,
+                                       int oldTop, int oldRight, int oldBottom) {
+                if (mOrientationDirty) {
+                    reorient();
+                }
+            }
+        };
+    }
+
+    /**
+     * Builds the bitrate ladder from the current publish settings and starts sampling.
+     * Restarting from the top rung is intended when the settings change mid-stream.
+     */
+    protected void startAdaptiveBitrate() {
+
+        BitrateLadder ladder = BitrateLadder.fromTop(mBitrate, mCameraWidth, mCameraHeight, mFramerate,
+                mAdaptiveBitrateConfig);
+        mAdaptiveBitrateEngine = new AdaptiveBitrateEngine(ladder, new HysteresisPolicy(mAdaptiveBitrateConfig));
+        mAdaptiveBitrateEngine.setListener(this);
+        mCommandWorker.removeCallbacks(sampleAdaptiveBitrate);
+        mCommandWorker.postDelayed(sampleAdaptiveBitrate, mAdaptiveBitrateConfig.sampleInterval);
+
+    }
+
+    /**
+     * Runs on the worker, which owns the stream and camera it samples and retunes.
+     */
+    private final Runnable sampleAdaptiveBitrate = new Runnable() {
+        @Override
+        public void run() {
+            AdaptiveBitrateEngine engine = mAdaptiveBitrateEngine;
+            R5Stream stream = mStream;
+            if (engine == null || stream == null) {
+                return;
+            }
+            if (isStreaming()) {
+                R5Stream.R5Stats stats = stream.getStats();
+                engine.onSample(stats.bitrate_sent_smoothed, stats.socket_queue_size, SystemClock.elapsedRealtime());
+            }
+            mCommandWorker.postDelayed(this, mAdaptiveBitrateConfig.sampleInterval);
+        }
+    };
+
+    @Override
+    public void onRungChanged(BitrateLadder.Rung rung, int index, int previousIndex, double throughput, long queueSize) {
+
+        applyPublishQuality(rung);
+
+        WritableMap map = new WritableNativeMap();
+        map.putInt("rung", index);
+        map.putInt("previousRung", previousIndex);
+        map.putInt("bitrate", rung.bitrate);
+        map.putInt("width", rung.width);
+        map.putInt("height", rung.height);
+        map.putInt("framerate", rung.framerate);
+        map.putDouble("throughput", throughput);
+        map.putDouble("queueSize", queueSize);
+        mEventDispatcher.dispatch(Events.ADAPTIVE_BITRATE_CHANGE, map);
+
+    }
+
+    /**
+     * Applies an adaptive bitrate rung to the active camera encoder.
+     */
+    protected void applyPublishQuality(BitrateLadder.Rung rung) {
+
+        R5LiveCamera camera = mCamera;
+        if (camera == null) {
+            return;
+        }
+        camera.applyBitrate(rung.bitrate);
+        if (rung.framerate != camera.getFramerate()) {
+            camera.applyFramerate(rung.framerate);
+        }
+
+    }
+
+    /**
+     * Applies publish setting props that changed while publishing. Requests are coalesced on
+     * the main thread so that all props of one update are applied, and reported, together;
+     * the camera, microphone and stream are then changed on the worker, which owns them.
+     */
+    protected void requestPublishSettingsUpdate() {
+        if (!mIsPublisher || !mStreamStarted || mStream == null) {
+            // Stored values are picked up by the next publish.
+            return;
+        }
+        removeCallbacks(applyPublishSettings);
+        post(applyPublishSettings);
+    }
+
+    private final Runnable applyPublishSettings = new Runnable() {
+        @Override
+        public void run() {
+            mCommandWorker.post(applyPublishSettingsOnWorker);
+        }
+    };
+
+    private final Runnable applyPublishSettingsOnWorker = new Runnable() {
+        @Override
+        public void run() {
+
+            R5LiveCamera camera = mCamera;
+            R5Microphone mic = mMicrophone;
+            if (mStream == null) {
+                return;
+            }
+
+            boolean live = true;
+            if (camera != null && (mCameraWidth != mPublishedWidth || mCameraHeight != mPublishedHeight)) {
+                // Before the framerate, so that it is applied to the reopened device.
+                live = applyCameraSize(camera);
+            }
+            boolean apply = camera != null;
+            AdaptiveBitrateEngine engine = mAdaptiveBitrateEngine;
+            if (apply && engine != null) {
+                BitrateLadder.Rung top = engine.getLadder().get(0);
+                // Unchanged top rung: bitrate and framerate stay under the engine's control.
+                // Otherwise the engine restarts from the new top and adapts down from there.
+                apply = top.bitrate != mBitrate || top.framerate != mFramerate;
+                if (apply) {
+                    startAdaptiveBitrate();
+                }
+            }
+            if (apply) {
+                if (mBitrate != camera.getAppliedBitrate()) {
+                    live = camera.applyBitrate(mBitrate);
+                }
+                if (mFramerate != camera.getFramerate()) {
+                    try {
+                        camera.applyFramerate(mFramerate);
+                    } catch (RuntimeException e) {
+                        Trace.error(TraceEvent.PUBLISH_SETTINGS_ERROR, getId(), mFramerate, e);
+                        live = false;
+                    }
+                }
+            }
+            if (mic != null) {
+                mic.setBitRate(mAudioBitrate);
+            }
+            onPublishSettingsChange(camera, mic, live);
+
+        }
+    };
+
+    /**
+     * Runs on the worker. Applies a changed camera size to the running publish the way a
+     * swap changes cameras: the device is reopened and attached at the new size, and the
+     * encoder is rebuilt on its next frame. Stream and connection keep running, so the
+     * interruption is the same short preview gap as a swap.
+     *
+     * @return false if the camera could not be reopened.
+     */
+    protected boolean applyCameraSize(R5LiveCamera camera) {
+
+        camera.applyResolution(mCameraWidth, mCameraHeight);
+        mPublishedWidth = mCameraWidth;
+        mPublishedHeight = mCameraHeight;
+        if (mVideoSuspended) {
+            // Attached at the new size when video resumes.
+            return true;
+        }
+
+        closeCameraDevice();
+        Camera device = mUseBackfacingCamera
+                ? openBackFacingCameraGingerbread()
+                : openFrontFacingCameraGingerbread();
+        if (device == null) {
+            return false;
+        }
+        device.setDisplayOrientation(OrientationMath.previewOrientation(mCameraOrientation, mUseBackfacingCamera));
+        camera.setCamera(device);
+        camera.setOrientation(mCameraOrientation);
+        device.startPreview();
+        mStream.updateStreamMeta();
+        return true;
+
+    }
+
+    protected void startStatsSampling() {
+
+        R5Stream stream = mStream;
+        if (mStatsInterval > 0 && stream != null) {
+            mStatsSampler.start(stream, mIsPublisher, mStatsInterval, mStatsBatchSize);
+        }
+        else {
+            mStatsSampler.stop();
+        }
+
+    }
+
+    @Override
+    public void onStatsBatch(StatsSampler sampler) {
+        // The main thread is the ring's only consumer.
+        post(deliverStats);
+    }
+
+    private final Runnable deliverStats = new Runnable() {
+        @Override
+        public void run() {
+
+            WritableMap map = R5EventPayloads.createStatsMap(mStatsSampler.getBuffer(), mStreamName, mIsPublisher);
+            if (map == null) {
+                return;
+            }
+            mEventDispatcher.dispatch(Events.STREAM_STATS, map);
+
+        }
+    };
+
+    /**
+     * Runs on the main thread, where the orientation is tracked, and hands the result to the
+     * worker, which owns the camera and stream it is applied to.
+     */
+    protected void reorient() {
+
+        final int cameraOrientation = mCameraOrientation;
+        final int displayOrientation = OrientationMath.previewOrientation(mDisplayOrientation, mUseBackfacingCamera);
+        mCommandWorker.removeCallbacks(mReorientTask);
+        mReorientTask = new Runnable() {
+            @Override
+            public void run() {
+                applyOrientation(cameraOrientation, displayOrientation);
+            }
+        };
+        mCommandWorker.post(mReorientTask);
+        mOrientationDirty = false;
+
+    }
+
+    protected void applyOrientation(int cameraOrientation, int displayOrientation) {
+
+        if (mCamera != null && mCameraDevice != null) {
+            mCamera.setOrientation(cameraOrientation);
+            mCamera.getCamera().setDisplayOrientation(displayOrientation);
+            requestStreamMetaUpdate();
+        }
+
+    }
+
+    /**
+     * Pushes stream metadata to subscribers once orientation changes have settled, instead of
+     * on every intermediate layout pass.
+     */
+    protected void requestStreamMetaUpdate() {
+        mCommandWorker.removeCallbacks(updateStreamMeta);
+        mCommandWorker.postDelayed(updateStreamMeta, RotationTracker.DEFAULT_SETTLE_MS);
+    }
+
+    private final Runnable updateStreamMeta = new Runnable() {
+        @Override
+        public void run() {
+            if (mStream != null) {
+                mStream.updateStreamMeta();
+            }
+        }
+    };
+
+    protected void updateDeviceOrientationOnLayoutChange() {
+
+        int rotation = mRotationTracker.getRotation();
+        mDisplayOrientation = OrientationMath.displayOrientation(mOrigCamOrientation, rotation);
+        mCameraOrientation = OrientationMath.cameraOrientation(mDisplayOrientation, rotation, mUseBackfacingCamera);
+        mOrientationDirty = true;
+
+    }
+
+    protected void applyDeviceRotation () {
+
+        mCameraOrientation = OrientationMath.applyRotation(mCameraOrientation, mRotationTracker.getRotation());
+        mOrigCamOrientation = mCameraOrientation;
+
+    }
+
+    protected void applyInverseDeviceRotation(){
+
+        mCameraOrientation = OrientationMath.applyInverseRotation(mCameraOrientation, mRotationTracker.getRotation());
+        mOrigCamOrientation = mCameraOrientation;
+
+    }
+
+    @Override
+    public void onRotationSettled(int rotation) {
+
+        if (mIsPublisher) {
+            updateDeviceOrientationOnLayoutChange();
+            reorient();
+        }
+
+    }
+
+    protected Camera openFrontFacingCameraGingerbread() {
+
+        return openCamera(Camera.CameraInfo.CAMERA_FACING_FRONT);
+
+    }
+
+    protected Camera openBackFacingCameraGingerbread() {
+
+        return openCamera(Camera.CameraInfo.CAMERA_FACING_BACK);
+
+    }
+
+    protected Camera openCamera(int facing) {
+
+        Camera cam = null;
+        CameraIndex index = CameraIndex.getInstance();
+        for (CameraIndex.Entry entry : index.findByFacing(facing)) {
+            try {
+                cam = Camera.open(entry.id);
+                mCameraOrientation = entry.orientation;
+                if (entry.isFrontFacing()) {
+                    applyDeviceRotation();
+                }
+                else {
+                    applyInverseDeviceRotation();
+                }
+                break;
+            } catch (RuntimeException e) {
+                Trace.error(TraceEvent.CAMERA_ERROR, getId(), entry.id, e);
+                if (cam != null) {
+                    // Opened but not adopted yet, so nothing else would release it.
+                    cam.release();
+                    cam = null;
+                }
+            }
+        }
+
+        if (cam != null) {
+            adoptCamera(cam);
+        }
+        return cam;
+
+    }
+
+    protected void onConfigured(String key) {
+        WritableMap map = new WritableNativeMap();
+        map.putString("key", key);
+        mEventDispatcher.dispatch(Events.CONFIGURED, map);
+    }
+
+    @Override
+    public void onCommandComplete(Commands command, long durationNanos, Throwable error) {
+        if (error != null) {
+            Trace.error(TraceEvent.COMMAND_RESULT, getId(), command.getValue(), error);
+        }
+        else {
+            Trace.record(Trace.DEBUG, TraceEvent.COMMAND_RESULT, getId(), command.getValue(), durationNanos / 1000);
+        }
+        WritableMap map = new WritableNativeMap();
+        map.putString("command", command.toString());
+        map.putBoolean("success", error == null);
+        map.putDouble("duration", durationNanos / 1000000.0);
+        if (error != null) {
+            map.putString("error", String.valueOf(error.getMessage()));
+        }
+        mEventDispatcher.dispatch(Events.COMMAND_RESULT, map);
+    }
+
+    @Override
+    public void onStateChange(R5StreamState.State previous, R5StreamState.State state) {
+        Trace.record(Trace.INFO, TraceEvent.STATE_CHANGE, getId(), previous.ordinal(), state.ordinal());
+        WritableMap map = new WritableNativeMap();
+        map.putString("state", state.toString());
+        map.putString("previous", previous.toString());
+        mEventDispatcher.dispatch(Events.STATE_CHANGE, map);
+    }
+
+    public R5StreamState.State getState() {
+        return mState.get();
+    }
+
+    @Override
+    public void onCommandsCollapsed(Commands start, Commands stop) {
+        Trace.record(Trace.DEBUG, TraceEvent.COMMANDS_COLLAPSED, getId(), start.getValue(), stop.getValue());
+        for (Commands command : new Commands[] { start, stop }) {
+            WritableMap map = new WritableNativeMap();
+            map.putString("command", command.toString());
+            map.putBoolean("success", true);
+            map.putBoolean("collapsed", true);
+            map.putDouble("duration", 0);
+            mEventDispatcher.dispatch(Events.COMMAND_RESULT, map);
+        }
+    }
+
+    protected void onStartupMetrics() {
+
+        WritableMap phases = new WritableNativeMap();
+        WritableMap percentiles = new WritableNativeMap();
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        for (MetricsRegistry.Phase phase : MetricsRegistry.Phase.values()) {
+            long duration = mLifecycleTimer.getDuration(phase);
+            if (duration >= 0) {
+                phases.putDouble(phase.toString(), duration / 1000000.0);
+            }
+            LatencyHistogram histogram = registry.getHistogram(phase);
+            if (histogram.getCount() > 0) {
+                WritableMap summary = new WritableNativeMap();
+                summary.putDouble("p50", histogram.getPercentileMicros(50) / 1000.0);
+                summary.putDouble("p99", histogram.getPercentileMicros(99) / 1000.0);
+                summary.putDouble("count", histogram.getCount());
+                percentiles.putMap(phase.toString(), summary);
+            }
+        }
+
+        WritableMap map = new WritableNativeMap();
+        map.putString("streamName", mStreamName);
+        map.putBoolean("publisher", mIsPublisher);
+        map.putMap("phases", phases);
+        map.putMap("percentiles", percentiles);
+        mEventDispatcher.dispatch(Events.STARTUP_METRICS, map);
+
+    }
+
+    protected void onPublishSettingsChange(R5LiveCamera camera, R5Microphone mic, boolean live) {
+
+        WritableMap requested = new WritableNativeMap();
+        requested.putInt("bitrate", mBitrate);
+        requested.putInt("framerate", mFramerate);
+        requested.putInt("width", mCameraWidth);
+        requested.putInt("height", mCameraHeight);
+        requested.putInt("audioBitrate", mAudioBitrate);
+
+        WritableMap actual = new WritableNativeMap();
+        if (camera != null) {
+            actual.putInt("bitrate", camera.getAppliedBitrate());
+            actual.putInt("framerate", camera.getAppliedFramerate());
+            actual.putInt("width", camera.getWidth());
+            actual.putInt("height", camera.getHeight());
+        }
+        if (mic != null) {
+            actual.putInt("audioBitrate", mic.getBitRate());
+        }
+
+        WritableMap map = new WritableNativeMap();
+        map.putMap("requested", requested);
+        map.putMap("actual", actual);
+        map.putBoolean("live", live);
+        mEventDispatcher.dispatch(Events.PUBLISH_SETTINGS_CHANGE, map);
+
+    }
+
+    protected void onReconnected() {
+
+        long elapsed = mReconnectScheduler.getElapsed();
+        int attempts = mReconnectScheduler.onConnected();
+        if (mAdaptiveBitrateEngine != null) {
+            mCommandWorker.removeCallbacks(sampleAdaptiveBitrate);
+            mCommandWorker.postDelayed(sampleAdaptiveBitrate, mAdaptiveBitrateConfig.sampleInterval);
+        }
+
+        WritableMap map = new WritableNativeMap();
+        map.putString("state", "reconnected");
+        map.putInt("attempts", attempts);
+        map.putDouble("elapsed", elapsed);
+        mEventDispatcher.dispatch(Events.RECONNECT, map);
+
+    }
+
+    protected void onCameraSwapped(long durationNanos) {
+        WritableMap map = new WritableNativeMap();
+        map.putDouble("duration", durationNanos / 1000000.0);
+        map.putString("facing", mUseBackfacingCamera ? "back" : "front");
+        mEventDispatcher.dispatch(Events.CAMERA_SWAPPED, map);
+    }
+
+    protected void updateOrientation(int value) {
+        // subscriber only.
+        if (value == mStreamOrientation) {
+            return;
+        }
+        mStreamOrientation = value;
+        value += 90;
+        this.getVideoView().setStreamRotation(value);
+    }
+
+    public void onMetaData(String metadata) {
+
+        mMetaDataParser.parse(metadata);
+        int orientation = mMetaDataParser.getOrientation(Integer.MIN_VALUE);
+        if (orientation != Integer.MIN_VALUE) {
+            updateOrientation(orientation);
+        }
+
+        mEventDispatcher.dispatch(Events.METADATA, R5EventPayloads.createMetaDataMap(metadata));
+
+    }
+
+    @Override
+    public void onConnectionEvent(R5ConnectionEvent event) {
+
+        Trace.record(Trace.INFO, TraceEvent.CONNECTION_EVENT, getId(), event.value(), 0);
+        WritableMap map = R5EventPayloads.createStatusMap(event, mStreamName);
+        if (mIsPublisher) {
+            mEventDispatcher.dispatch(Events.PUBLISHER_STATUS, event.value(), map);
+        }
+        else {
+            mEventDispatcher.dispatch(Events.SUBSCRIBER_STATUS, event.value(), map);
+        }
+
+        if (mState.is(R5StreamState.State.CONNECTING) && isReconnecting()
+                && (event == R5ConnectionEvent.DISCONNECTED
+                || event == R5ConnectionEvent.ERROR
+                || event == R5ConnectionEvent.TIMEOUT)) {
+            // Detaching first keeps further events of the failed attempt from reporting twice.
+            detachStream();
+            mReconnectScheduler.onAttemptFailed(event.name());
+            return;
+        }
+
+        if (event == R5ConnectionEvent.CONNECTED) {
+            mLifecycleTimer.mark(LifecycleTimer.Mark.CONNECTED);
+        }
+        else if (event == R5ConnectionEvent.START_STREAMING) {
+            if (!mState.compareAndSet(R5StreamState.State.CONNECTING, R5StreamState.State.STREAMING)) {
+                // Stopped or released before streaming began; the stop has already cleaned up.
+                return;
+            }
+            startStatsSampling();
+            // The view may have been resized while connecting.
+            requestQualityUpdate();
+            if (isReconnecting()) {
+                onReconnected();
+            }
+            if (mLifecycleTimer.isMarked(LifecycleTimer.Mark.COMMAND_RECEIVED)
+                    && !mLifecycleTimer.isMarked(LifecycleTimer.Mark.STREAMING)) {
+                mLifecycleTimer.mark(LifecycleTimer.Mark.STREAMING);
+                onStartupMetrics();
+            }
+        }
+        else if (event == R5ConnectionEvent.DISCONNECTED) {
+            R5StreamState.State state = mState.get();
+            if (state != R5StreamState.State.STREAMING && state != R5StreamState.State.STOPPING) {
+                return;
+            }
+            // Fails if a stop has been requested meanwhile.
+            if (state == R5StreamState.State.STREAMING && mAutoReconnect && mConfiguration != null
+                    && mState.compareAndSet(R5StreamState.State.STREAMING, R5StreamState.State.CONNECTING)) {
+                beginReconnect();
+                return;
+            }
+            WritableMap evt = new WritableNativeMap();
+            if (mIsPublisher) {
+                mEventDispatcher.dispatch(Events.UNPUBLISH_NOTIFICATION, evt);
+            }
+            else {
+                mEventDispatcher.dispatch(Events.UNSUBSCRIBE_NOTIFICATION, evt);
+            }
+            // The stream has already stopped.
+            detachStream();
+            cleanup();
+        }
+
+    }
+
+    @Override
     public void onHostResume() {
         Activity activity = mContext.getCurrentActivity();
         if (mLayoutListener == null) {
             mLayoutListener = setUpOrientationListener();
         }
         this.addOnLayoutChangeListener(mLayoutListener);
+        mRotationTracker.start();
+        if (mIsPublisher && mVideoSuspended) {
+            // Posting starts the worker thread, which idle views and subscribers never need.
+            mCommandWorker.post(resumeVideo);
+        }
+        else if (mPlaybackSuspended) {
+            resumePlayback();
+        }
     }
 
     @Override
@@ -515,15 +1606,201 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
         if (mLayoutListener != null) {
             this.removeOnLayoutChangeListener(mLayoutListener);
         }
+        mRotationTracker.stop();
+        if (mBackgroundPolicy == BACKGROUND_AUDIO_ONLY && isStreaming()) {
+            if (mIsPublisher) {
+                mCommandWorker.post(suspendVideo);
+            }
+            else {
+                suspendPlayback();
+            }
+        }
+    }
+
+    /**
+     * Main thread. Pauses the render thread of the subscriber's video surface while the host
+     * is in the background, so the video nobody sees is no longer decoded to the surface and
+     * drawn; audio keeps playing.
+     */
+    protected void suspendPlayback() {
+
+        if (mPlaybackSuspended || !setRenderingPaused(this, true)) {
+            return;
+        }
+        mPlaybackSuspended = true;
+        onBackgroundStateChange(true, false);
+
+    }
+
+    /**
+     * Main thread. Resumes the render thread paused by {@link #suspendPlayback()}.
+     */
+    protected void resumePlayback() {
+
+        mPlaybackSuspended = false;
+        // The stream may have ended and its surface been removed in the meantime.
+        boolean video = setRenderingPaused(this, false);
+        onBackgroundStateChange(false, video);
+
+    }
+
+    /**
+     * Pauses or resumes the GL surfaces the SDK renders subscribed video into.
+     *
+     * @return false if the view has none.
+     */
+    private static boolean setRenderingPaused(ViewGroup parent, boolean paused) {
+
+        boolean found = false;
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            View child = parent.getChildAt(i);
+            if (child instanceof GLSurfaceView) {
+                if (paused) {
+                    ((GLSurfaceView) child).onPause();
+                }
+                else {
+                    ((GLSurfaceView) child).onResume();
+                }
+                found = true;
+            }
+            else if (child instanceof ViewGroup) {
+                found |= setRenderingPaused((ViewGroup) child, paused);
+            }
+        }
+        return found;
+
+    }
+
+    /**
+     * Runs on the worker. Stops sending video and hands the camera back to the system while
+     * the host is in the background; audio keeps streaming.
+     */
+    private final Runnable suspendVideo = new Runnable() {
+        @Override
+        public void run() {
+
+            R5Stream stream = mStream;
+            R5LiveCamera camera = mCamera;
+            if (!mIsPublisher || !isStreaming() || stream == null || camera == null || mVideoSuspended) {
+                return;
+            }
+
+            mCommandWorker.removeCallbacks(sampleAdaptiveBitrate);
+            stream.restrainVideo(true);
+            closeCameraDevice();
+            mVideoSuspended = true;
+            onBackgroundStateChange(true, false);
+
+        }
+    };
+
+    /**
+     * Runs on the worker. Reopens the camera on the same stream and resumes sending video.
+     */
+    private final Runnable resumeVideo = new Runnable() {
+        @Override
+        public void run() {
+
+            if (!mVideoSuspended) {
+                return;
+            }
+            mVideoSuspended = false;
+            R5Stream stream = mStream;
+            R5LiveCamera camera = mCamera;
+            if (stream == null || camera == null) {
+                // The stream ended while in the background; there is nothing to restore.
+                return;
+            }
+
+            Camera device = mUseBackfacingCamera
+                    ? openBackFacingCameraGingerbread()
+                    : openFrontFacingCameraGingerbread();
+            if (device == null) {
+                onBackgroundStateChange(false, false);
+                return;
+            }
+            device.setDisplayOrientation(OrientationMath.previewOrientation(mCameraOrientation, mUseBackfacingCamera));
+            camera.setCamera(device);
+            camera.setOrientation(mCameraOrientation);
+            device.startPreview();
+            stream.restrainVideo(false);
+            if (mAdaptiveBitrateEngine != null) {
+                mCommandWorker.removeCallbacks(sampleAdaptiveBitrate);
+                mCommandWorker.postDelayed(sampleAdaptiveBitrate, mAdaptiveBitrateConfig.sampleInterval);
+            }
+            onBackgroundStateChange(false, true);
+
+        }
+    };
+
+    protected void onBackgroundStateChange(boolean background, boolean video) {
+        WritableMap map = new WritableNativeMap();
+        map.putBoolean("background", background);
+        map.putBoolean("video", video);
+        mEventDispatcher.dispatch(Events.BACKGROUND_STATE_CHANGE, map);
     }
 
     @Override
     public void onHostDestroy() {
-        //Log.d("R5VideoViewLayout", "onHostDestroy");
+        release();
     }
 
+    /**
+     * Main thread. Releases everything this view owns, also when it is dropped mid-stream.
+     * Commands already queued finish first; then the worker releases the camera, the
+     * microphone, the stream and the connection, and finally the preview surface is removed
+     * on the main thread. Safe to call more than once.
+     */
+    public void release() {
+
+        if (mState.moveTo(R5StreamState.State.RELEASED) == null) {
+            return;
+        }
+        mContext.removeLifecycleEventListener(this);
+        if (mLayoutListener != null) {
+            this.removeOnLayoutChangeListener(mLayoutListener);
+        }
+        mRotationTracker.stop();
+        removeCallbacks(applyPublishSettings);
+        mCommandWorker.removeCallbacks(mReorientTask);
+        mCommandWorker.removeCallbacks(updateStreamMeta);
+        removeCallbacks(deliverStats);
+        removeCallbacks(evaluateQuality);
+
+        if (!mCommandWorker.post(teardown)) {
+            teardown.run();
+        }
+        mCommandWorker.release();
+        mEventDispatcher.release();
+
+    }
+
+    private final Runnable teardown = new Runnable() {
+        @Override
+        public void run() {
+
+            if (mReconnectScheduler != null) {
+                mReconnectScheduler.cancel();
+            }
+            mStatsSampler.stop();
+            mCommandWorker.removeCallbacks(sampleAdaptiveBitrate);
+            mAdaptiveBitrateEngine = null;
+
+            closeCameraDevice();
+            mVideoSuspended = false;
+            mCamera = null;
+            recycleUnusedSession();
+            releaseStream(mStreamStarted);
+            UiThreadUtil.runOnUiThread(releasePreviewSurface);
+            Trace.record(Trace.INFO, TraceEvent.RELEASE, getId(), 0,
+                    ResourceTracker.getInstance().getTotalLiveCount());
+
+        }
+    };
+
     @Override
     public void onConfigurationChanged(Configuration config) {
+        mRotationTracker.invalidate();
         updateDeviceOrientationOnLayoutChange();
     }
 
@@ -557,19 +1834,31 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
     }
 
     public void updateCameraWidth(int value) {
-        this.mCameraWidth = value;
+        if (value != this.mCameraWidth) {
+            this.mCameraWidth = value;
+            requestPublishSettingsUpdate();
+        }
     }
 
     public void updateCameraHeight(int value) {
-        this.mCameraHeight = value;
+        if (value != this.mCameraHeight) {
+            this.mCameraHeight = value;
+            requestPublishSettingsUpdate();
+        }
     }
 
     public void updatePublishBitrate(int value) {
-        this.mBitrate = value;
+        if (value != this.mBitrate) {
+            this.mBitrate = value;
+            requestPublishSettingsUpdate();
+        }
     }
 
     public void updatePublishFramerate(int value) {
-        this.mFramerate = value;
+        if (value != this.mFramerate) {
+            this.mFramerate = value;
+            requestPublishSettingsUpdate();
+        }
     }
 
     public void updateSubscriberAudioMode(int value) {
@@ -577,7 +1866,10 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
     }
 
     public void updatePublishAudioBitrate(int value) {
-        this.mAudioBitrate = value;
+        if (value != this.mAudioBitrate) {
+            this.mAudioBitrate = value;
+            requestPublishSettingsUpdate();
+        }
     }
 
     public void updatePublishAudioSampleRate(int value) {
@@ -588,25 +1880,213 @@ public class R5VideoViewLayout extends R5VideoView implements R5ConnectionListen
         this.mUseAdaptiveBitrateController = value;
     }
 
+    public void updateAdaptiveBitrateConfig(AdaptiveBitrateConfig config) {
+        this.mAdaptiveBitrateConfig = config;
+    }
+
+    public void updateStatsInterval(int value) {
+        if (value != this.mStatsInterval) {
+            this.mStatsInterval = value;
+            if (isStreaming()) {
+                startStatsSampling();
+            }
+        }
+    }
+
+    public void updateStatsBatchSize(int value) {
+        if (value != this.mStatsBatchSize) {
+            this.mStatsBatchSize = value;
+            if (isStreaming()) {
+                startStatsSampling();
+            }
+        }
+    }
+
+    public void updateBackgroundPolicy(int value) {
+        this.mBackgroundPolicy = value;
+    }
+
+    public void updateAutoReconnect(boolean value) {
+        this.mAutoReconnect = value;
+        if (!value && isReconnecting()) {
+            // Attempts run on the worker; ending the sequence there keeps it from tearing the
+            // stream down while an attempt is rebuilding it.
+            mCommandWorker.post(disableReconnect);
+        }
+    }
+
+    private final Runnable disableReconnect = new Runnable() {
+        @Override
+        public void run() {
+            ReconnectScheduler scheduler = mReconnectScheduler;
+            if (!mAutoReconnect && scheduler != null) {
+                scheduler.abort("disabled");
+            }
+        }
+    };
+
+    public void updateReconnectConfig(ReconnectConfig config) {
+        this.mReconnectConfig = config;
+        // Picked up by the next reconnect sequence.
+        if (mReconnectScheduler != null && !mReconnectScheduler.isActive()) {
+            mReconnectScheduler = null;
+        }
+    }
+
     public void updatePublisherUseBackfacingCamera(boolean value) {
         this.mUseBackfacingCamera = value;
     }
 
+    public boolean isPublisher() {
+        return mIsPublisher;
+    }
+
+    public boolean isStreaming() {
+        return mState.is(R5StreamState.State.STREAMING);
+    }
+
+    /**
+     * @return the configured publish bitrate (video and audio) for publishers, or the
+     * SDK-reported receive bitrate for subscribers, in kb/s. Zero when not streaming.
+     */
+    public double getStreamBitrate() {
+
+        R5Stream stream = mStream;
+        if (!isStreaming() || stream == null) {
+            return 0;
+        }
+        if (mIsPublisher) {
+            return (mUseVideo ? mBitrate : 0) + (mUseAudio ? mAudioBitrate : 0);
+        }
+        return stream.getStats().subscribe_bitrate;
+
+    }
+
+    /**
+     * @return current SDK stats of the stream, or null when not streaming.
+     */
+    public R5Stream.R5Stats getStreamStats() {
+        R5Stream stream = mStream;
+        return isStreaming() && stream != null ? stream.getStats() : null;
+    }
+
+    public String getStreamName() {
+        return mStreamName;
+    }
+
+    /**
+     * Stops or resumes sending (publisher) or playing (subscriber) audio.
+     *
+     * @return false if there is no stream to apply it to.
+     */
+    public boolean setAudioMuted(boolean muted) {
+
+        R5Stream stream = mStream;
+        if (stream == null || !mStreamStarted) {
+            return false;
+        }
+        if (mIsPublisher) {
+            stream.restrainAudio(muted);
+        }
+        else if (stream.audioController != null) {
+            stream.audioController.muteAudio(muted);
+        }
+        else {
+            return false;
+        }
+        return true;
+
+    }
+
+    /**
+     * Stops or resumes sending video. Subscribers always receive video, so this only
+     * applies to publishers.
+     *
+     * @return false if there is no published stream to apply it to.
+     */
+    public boolean setVideoMuted(boolean muted) {
+
+        R5Stream stream = mStream;
+        if (stream == null || !mStreamStarted || !mIsPublisher) {
+            return false;
+        }
+        stream.restrainVideo(muted);
+        return true;
+
+    }
+
+    public LifecycleTimer getLifecycleTimer() {
+        return mLifecycleTimer;
+    }
+
+    public R5CommandWorker getCommandWorker() {
+        return mCommandWorker;
+    }
+
     public R5VideoView getVideoView() {
         return mVideoView;
     }
 
+    public long getLayoutRequestCount() {
+        return mLayoutRequestCount;
+    }
+
+    public long getLayoutCoalescedCount() {
+        return mLayoutCoalescedCount;
+    }
+
+    public long getLayoutPassCount() {
+        return mLayoutPassCount;
+    }
+
     /*
      * [Red5Pro]
      *
      * Start silly hack of enforcing layout of underlying GLSurface for view.
+     *
+     * Requests are coalesced so that at most one forced measure/layout runs per vsync.
      */
+    private boolean mLayoutScheduled;
+    private long mLayoutRequestCount;
+    private long mLayoutCoalescedCount;
+    private long mLayoutPassCount;
+
     @Override
     public void requestLayout() {
         super.requestLayout();
-        post(measureAndLayout);
+        // Called by the super constructor before our callbacks exist.
+        if (layoutFrameCallback == null) {
+            return;
+        }
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            post(scheduleLayout);
+            return;
+        }
+        scheduleLayout.run();
     }
 
+    private final Runnable scheduleLayout = new Runnable() {
+        @Override
+        public void run() {
+            mLayoutRequestCount++;
+            if (mLayoutScheduled) {
+                mLayoutCoalescedCount++;
+                return;
+            }
+            mLayoutScheduled = true;
+            Choreographer.getInstance().postFrameCallback(layoutFrameCallback);
+        }
+    };
+
+    private final Choreographer.FrameCallback layoutFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mLayoutScheduled = false;
+            mLayoutPassCount++;
+            measureAndLayout.run();
+        }
+    };
+
     private final Runnable measureAndLayout = new Runnable() {
         @Override
         public void run() {
@@ -1,7 +1,6 @@
 package com.red5pro.reactnative.view;
 
 import android.app.Activity;
-import android.util.Log;
 
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
@@ -10,12 +9,22 @@ import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.SimpleViewManager;
 import com.facebook.react.uimanager.annotations.ReactProp;
 
+import com.red5pro.reactnative.abr.AdaptiveBitrateConfig;
+import com.red5pro.reactnative.metrics.LifecycleTimer;
+import com.red5pro.reactnative.reconnect.ReconnectConfig;
+import com.red5pro.reactnative.stream.DefaultStreamProvider;
+import com.red5pro.reactnative.stream.R5ConfigurationCache;
+import com.red5pro.reactnative.stream.R5ConfigurationFactory;
+import com.red5pro.reactnative.stream.R5QualityLadder;
+import com.red5pro.reactnative.stream.R5SessionPool;
+import com.red5pro.reactnative.stream.R5StreamProvider;
+import com.red5pro.reactnative.trace.Trace;
+import com.red5pro.reactnative.trace.TraceEvent;
 import com.red5pro.streaming.R5Stream;
-import com.red5pro.streaming.R5StreamProtocol;
-import com.red5pro.streaming.config.R5Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.Nullable;
 
@@ -27,35 +36,40 @@ public class R5VideoViewManager extends SimpleViewManager<R5VideoViewLayout> {
 
     private static final String REACT_CLASS = "R5VideoView";
 
-    private static final String PROP_HOST = "host";
-    private static final String PROP_PORT = "port";
-    private static final String PROP_CONTEXT_NAME = "contextName";
-    private static final String PROP_STREAM_NAME = "streamName";
-    private static final String PROP_BUFFER_TIME = "bufferTime";
-    private static final String PROP_LICENSE_KEY = "licenseKey";
-    private static final String PROP_BUNDLE_ID = "bundleID";
-    private static final String PROP_PARAMETERS = "parameters";
-    private static final String PROP_STREAM_BUFFER_TIME = "streamBufferTime";
-
     private static final int COMMAND_SUBSCRIBE = 1;
     private static final int COMMAND_PUBLISH = 2;
     private static final int COMMAND_UNSUBSCRIBE = 3;
     private static final int COMMAND_UNPUBLISH = 4;
     private static final int COMMAND_SWAP_CAMERA = 5;
     private static final int COMMAND_UPDATE_SCALE_MODE = 6;
+    private static final int COMMAND_PRECONNECT = 7;
 
     private int logLevel = R5Stream.LOG_LEVEL_ERROR;
     private boolean showDebug = false;
 
-    private AtomicBoolean isConfigured = new AtomicBoolean(false);
-    private AtomicBoolean isAttached = new AtomicBoolean(false);
-
-    private R5VideoViewLayout mView;
+    private final R5SessionRegistry mRegistry;
+    private final R5StreamProvider mStreamProvider;
+    private final R5ConfigurationFactory mConfigurationFactory =
+            new R5ConfigurationFactory(R5ConfigurationCache.getInstance());
 
     private ThemedReactContext mContext;
 
     public R5VideoViewManager() {
+        this(new R5SessionRegistry());
+    }
+
+    public R5VideoViewManager(R5SessionRegistry registry) {
+        this(registry, DefaultStreamProvider.INSTANCE);
+    }
+
+    public R5VideoViewManager(R5SessionRegistry registry, R5StreamProvider streamProvider) {
         super();
+        mRegistry = registry;
+        mStreamProvider = streamProvider;
+    }
+
+    public R5SessionRegistry getRegistry() {
+        return mRegistry;
     }
 
     @Override
@@ -67,25 +81,43 @@ public class R5VideoViewManager extends SimpleViewManager<R5VideoViewLayout> {
     protected R5VideoViewLayout createViewInstance(ThemedReactContext reactContext) {
 
         mContext = reactContext;
-        mView = new R5VideoViewLayout(reactContext);
-        return mView;
+        return new R5VideoViewLayout(reactContext, mStreamProvider);
+
+    }
+
+    @Override
+    protected void onAfterUpdateTransaction(R5VideoViewLayout view) {
+        super.onAfterUpdateTransaction(view);
+        view.commitProps();
+        // The React tag is only assigned after the view instance is created.
+        mRegistry.register(view);
+    }
 
+    @Override
+    public void onDropViewInstance(R5VideoViewLayout view) {
+        mRegistry.unregister(view);
+        view.release();
+        super.onDropViewInstance(view);
     }
 
     @Override
     public void receiveCommand(final R5VideoViewLayout root, int commandId, @Nullable ReadableArray args) {
-        if (args != null) {
-            Log.d("R5VideoViewManager", "Args are " + args.toString());
-        }
+        Trace.record(Trace.DEBUG, TraceEvent.COMMAND, root.getId(), commandId, args != null ? args.size() : 0);
 
+        mRegistry.register(root);
         switch (commandId) {
             case COMMAND_SUBSCRIBE:
 
-                int w = mView.getWidth();
-                int h = mView.getHeight();
+                final int w = root.getWidth();
+                final int h = root.getHeight();
 
                 final String streamName = args.getString(0);
-                mView.subscribe(streamName);
+                root.runCommand(R5VideoViewLayout.Commands.SUBSCRIBE, new Runnable() {
+                    @Override
+                    public void run() {
+                        root.subscribe(streamName, w, h);
+                    }
+                });
 
                 break;
             case COMMAND_PUBLISH:
@@ -99,28 +131,54 @@ public class R5VideoViewManager extends SimpleViewManager<R5VideoViewLayout> {
                 else if (type == 2) {
                     recordType = R5Stream.RecordType.Append;
                 }
-                mView.publish(name, recordType);
+                final R5Stream.RecordType publishType = recordType;
+                root.runCommand(R5VideoViewLayout.Commands.PUBLISH, new Runnable() {
+                    @Override
+                    public void run() {
+                        root.publish(name, publishType);
+                    }
+                });
 
                 break;
             case COMMAND_UNSUBSCRIBE:
 
-                mView.unsubscribe();
+                root.runCommand(R5VideoViewLayout.Commands.UNSUBSCRIBE, new Runnable() {
+                    @Override
+                    public void run() {
+                        root.unsubscribe();
+                    }
+                });
 
                 break;
             case COMMAND_UNPUBLISH:
 
-                mView.unpublish();
+                root.runCommand(R5VideoViewLayout.Commands.UNPUBLISH, new Runnable() {
+                    @Override
+                    public void run() {
+                        root.unpublish();
+                    }
+                });
 
                 break;
             case COMMAND_SWAP_CAMERA:
 
-                mView.swapCamera();
+                root.runCommand(R5VideoViewLayout.Commands.SWAP_CAMERA, new Runnable() {
+                    @Override
+                    public void run() {
+                        root.swapCamera();
+                    }
+                });
 
                 break;
             case COMMAND_UPDATE_SCALE_MODE:
 
                 final int mode = args.getInt(0);
-                mView.updateScaleMode(mode);
+                root.updateScaleMode(mode);
+
+                break;
+            case COMMAND_PRECONNECT:
+
+                R5SessionPool.getInstance().warm(mConfigurationFactory.fromMap(args.getMap(0)));
 
                 break;
             default:
@@ -149,41 +207,62 @@ public class R5VideoViewManager extends SimpleViewManager<R5VideoViewLayout> {
         return builder.build();
     }
 
-    private R5Configuration createConfigurationFromMap(ReadableMap configuration) {
+    private AdaptiveBitrateConfig createAdaptiveBitrateConfigFromMap(@Nullable ReadableMap options) {
+
+        AdaptiveBitrateConfig config = new AdaptiveBitrateConfig();
+        if (options == null) {
+            return config;
+        }
+
+        config.steps = options.hasKey("steps") ? Math.max(1, options.getInt("steps")) : config.steps;
+        config.stepFactor = options.hasKey("stepFactor") ? options.getDouble("stepFactor") : config.stepFactor;
+        config.minBitrate = options.hasKey("minBitrate") ? options.getInt("minBitrate") : config.minBitrate;
+        config.minFramerate = options.hasKey("minFramerate") ? options.getInt("minFramerate") : config.minFramerate;
+        config.allowFramerateChange = options.hasKey("allowFramerateChange") ? options.getBoolean("allowFramerateChange") : config.allowFramerateChange;
+        config.sampleInterval = options.hasKey("sampleInterval") ? Math.max(100, options.getInt("sampleInterval")) : config.sampleInterval;
+        config.queueHigh = options.hasKey("queueHigh") ? options.getInt("queueHigh") : config.queueHigh;
+        config.queueLow = options.hasKey("queueLow") ? options.getInt("queueLow") : config.queueLow;
+        config.downThreshold = options.hasKey("downThreshold") ? options.getDouble("downThreshold") : config.downThreshold;
+        config.downgradeHoldTime = options.hasKey("downgradeHoldTime") ? options.getInt("downgradeHoldTime") : config.downgradeHoldTime;
+        config.upgradeHoldTime = options.hasKey("upgradeHoldTime") ? options.getInt("upgradeHoldTime") : config.upgradeHoldTime;
+        config.minDwellTime = options.hasKey("minDwellTime") ? options.getInt("minDwellTime") : config.minDwellTime;
+
+        return config;
 
-        boolean hasHost = configuration.hasKey(PROP_HOST);
-        boolean hasPort = configuration.hasKey(PROP_PORT);
-        boolean hasContextName = configuration.hasKey(PROP_CONTEXT_NAME);
-        boolean hasStreamName = configuration.hasKey(PROP_STREAM_NAME);
-        boolean hasBufferTime = configuration.hasKey(PROP_BUFFER_TIME);
-        boolean hasStreamBufferTime = configuration.hasKey(PROP_STREAM_BUFFER_TIME);
-        boolean hasBundleID = configuration.hasKey(PROP_BUNDLE_ID);
-        boolean hasLicenseKey = configuration.hasKey(PROP_LICENSE_KEY);
-        boolean hasParameters = configuration.hasKey(PROP_PARAMETERS);
+    }
 
-        boolean hasRequired = hasHost && hasPort && hasContextName;
+    @Nullable
+    private R5QualityLadder createQualityLadderFromArray(@Nullable ReadableArray ladder) {
 
-        if (!hasRequired) {
+        if (ladder == null || ladder.size() == 0) {
             return null;
         }
 
-        R5StreamProtocol protocol = R5StreamProtocol.RTSP;
-        String host = configuration.getString(PROP_HOST);
-        int port = configuration.getInt(PROP_PORT);
-        String contextName = configuration.getString(PROP_CONTEXT_NAME);
-        String streamName = hasStreamName ? configuration.getString(PROP_STREAM_NAME) : "mystream";
-        String bundleID = hasBundleID ? configuration.getString(PROP_BUNDLE_ID) : "com.red5pro.android";
-        String licenseKey = hasLicenseKey ? configuration.getString(PROP_LICENSE_KEY) : "";
-        float bufferTime = hasBufferTime ? (float) configuration.getDouble(PROP_BUFFER_TIME) : 1.0f;
-        float streamBufferTime = hasStreamBufferTime ? (float) configuration.getDouble(PROP_STREAM_BUFFER_TIME) : 2.0f;
-        String parameters = hasParameters ? configuration.getString(PROP_PARAMETERS) : "";
+        List<R5QualityLadder.Variant> variants = new ArrayList<>(ladder.size());
+        for (int i = 0; i < ladder.size(); i++) {
+            ReadableMap variant = ladder.getMap(i);
+            variants.add(new R5QualityLadder.Variant(
+                    variant.hasKey("suffix") ? variant.getString("suffix") : "",
+                    variant.getInt("width"),
+                    variant.getInt("height")));
+        }
+        return new R5QualityLadder(variants);
 
-        R5Configuration config = new R5Configuration(protocol, host, port, contextName, bufferTime, parameters);
+    }
 
-        config.setStreamBufferTime(streamBufferTime);
-        config.setBundleID(bundleID);
-        config.setStreamName(streamName);
-        config.setLicenseKey(licenseKey);
+    private ReconnectConfig createReconnectConfigFromMap(@Nullable ReadableMap options) {
+
+        ReconnectConfig config = new ReconnectConfig();
+        if (options == null) {
+            return config;
+        }
+
+        config.initialDelay = options.hasKey("initialDelay") ? Math.max(0, options.getInt("initialDelay")) : config.initialDelay;
+        config.maxDelay = options.hasKey("maxDelay") ? Math.max(0, options.getInt("maxDelay")) : config.maxDelay;
+        config.multiplier = options.hasKey("multiplier") ? Math.max(1, options.getDouble("multiplier")) : config.multiplier;
+        config.jitter = options.hasKey("jitter") ? options.getDouble("jitter") : config.jitter;
+        config.maxAttempts = options.hasKey("maxAttempts") ? Math.max(0, options.getInt("maxAttempts")) : config.maxAttempts;
+        config.deadline = options.hasKey("deadline") ? Math.max(0, options.getInt("deadline")) : config.deadline;
 
         return config;
 
@@ -191,63 +270,63 @@ public class R5VideoViewManager extends SimpleViewManager<R5VideoViewLayout> {
 
     @ReactProp(name = "configuration")
     public void setConfiguration(R5VideoViewLayout view, ReadableMap configuration) {
-        view.loadConfiguration(createConfigurationFromMap(configuration), configuration.getString("key"));
-        isConfigured.set(true);
+        view.getLifecycleTimer().mark(LifecycleTimer.Mark.CONFIGURATION_RECEIVED);
+        view.editProps().setConfiguration(mConfigurationFactory.fromMap(configuration), configuration.getString("key"));
     }
 
     @ReactProp(name = "showDebugView", defaultBoolean = false)
     public void setShowDebugView(R5VideoViewLayout view, boolean showDebug) {
-        view.updateShowDebug(showDebug);
+        view.editProps().setShowDebug(showDebug);
     }
 
     @ReactProp(name = "scaleMode", defaultInt = 0) // 0, 1, 2
     public void setScaleMode(R5VideoViewLayout view, int mode) {
-        view.updateScaleMode(mode);
+        view.editProps().setScaleMode(mode);
     }
 
     @ReactProp(name = "logLevel", defaultInt = 3) // LOG_LEVEL_ERROR
     public void setLogLevel(R5VideoViewLayout view, int logLevel) {
-        view.updateLogLevel(logLevel);
+        view.editProps().setLogLevel(logLevel);
     }
 
     @ReactProp(name = "publishVideo", defaultBoolean = true)
     public  void setPublishVideo(R5VideoViewLayout view, boolean useVideo) {
-        view.updatePublishVideo(useVideo);
+        view.editProps().setPublishVideo(useVideo);
     }
 
     @ReactProp(name = "publishAudio", defaultBoolean = true)
     public  void setPublishAudio(R5VideoViewLayout view, boolean useAudio) {
-        view.updatePublishAudio(useAudio);
+        view.editProps().setPublishAudio(useAudio);
     }
 
     @ReactProp(name = "cameraWidth", defaultInt = 640)
     public void setCameraWidth(R5VideoViewLayout view, int value) {
-        view.updateCameraWidth(value);
+        view.editProps().setCameraWidth(value);
     }
 
     @ReactProp(name = "cameraHeight", defaultInt = 360)
     public void setCameraHeight(R5VideoViewLayout view, int value) {
-        view.updateCameraHeight(value);
+        view.editProps().setCameraHeight(value);
     }
 
     @ReactProp(name = "bitrate", defaultInt = 750)
     public void setBitrate(R5VideoViewLayout view, int value) {
-        view.updatePublishBitrate(value);
+        view.editProps().setBitrate(value);
     }
 
     @ReactProp(name = "framerate", defaultInt = 15)
     public void setFramerate(R5VideoViewLayout view, int value) {
-        view.updatePublishFramerate(value);
+        view.editProps().setFramerate(value);
     }
 
     @ReactProp(name = "audioBitrate", defaultInt = 32)
     public void setAudioBitrate(R5VideoViewLayout view, int value) {
-        view.updatePublishAudioBitrate(value);
+        view.editProps().setAudioBitrate(value);
     }
 
     @ReactProp(name = "audioSampleRate", defaultInt = 44100)
     public void setAudioSampleRate(R5VideoViewLayout view, int value) {
-        view.updatePublishAudioSampleRate(value);
+        view.editProps().setAudioSampleRate(value);
     }
 
     /*
@@ -262,17 +341,52 @@ public class R5VideoViewManager extends SimpleViewManager<R5VideoViewLayout> {
      */
     @ReactProp(name = "audioMode", defaultInt = 0)
     public void setSubscriberAudioMode(R5VideoViewLayout view, int value) {
-        view.updateSubscriberAudioMode(value);
+        view.editProps().setAudioMode(value);
     }
 
     @ReactProp(name = "useAdaptiveBitrateController", defaultBoolean = false)
     public void setUseAdaptiveBitrateController(R5VideoViewLayout view, boolean value) {
-        view.updatePublisherUseAdaptiveBitrateController(value);
+        view.editProps().setUseAdaptiveBitrateController(value);
+    }
+
+    @ReactProp(name = "adaptiveBitrateOptions")
+    public void setAdaptiveBitrateOptions(R5VideoViewLayout view, @Nullable ReadableMap options) {
+        view.editProps().setAdaptiveBitrateConfig(createAdaptiveBitrateConfigFromMap(options));
     }
 
     @ReactProp(name = "useBackfacingCamera", defaultBoolean = false)
     public void setUseBackfacingCamera(R5VideoViewLayout view, boolean value) {
-        view.updatePublisherUseBackfacingCamera(value);
+        view.editProps().setUseBackfacingCamera(value);
+    }
+
+    @ReactProp(name = "backgroundPolicy", defaultInt = 0) // 0: continue, 1: audio only
+    public void setBackgroundPolicy(R5VideoViewLayout view, int value) {
+        view.editProps().setBackgroundPolicy(value);
+    }
+
+    @ReactProp(name = "autoReconnect", defaultBoolean = false)
+    public void setAutoReconnect(R5VideoViewLayout view, boolean value) {
+        view.editProps().setAutoReconnect(value);
+    }
+
+    @ReactProp(name = "reconnectOptions")
+    public void setReconnectOptions(R5VideoViewLayout view, @Nullable ReadableMap options) {
+        view.editProps().setReconnectConfig(createReconnectConfigFromMap(options));
+    }
+
+    @ReactProp(name = "statsInterval", defaultInt = 0)
+    public void setStatsInterval(R5VideoViewLayout view, int value) {
+        view.editProps().setStatsInterval(value);
+    }
+
+    @ReactProp(name = "statsBatchSize", defaultInt = 10)
+    public void setStatsBatchSize(R5VideoViewLayout view, int value) {
+        view.editProps().setStatsBatchSize(value);
+    }
+
+    @ReactProp(name = "qualityLadder")
+    public void setQualityLadder(R5VideoViewLayout view, @Nullable ReadableArray ladder) {
+        view.editProps().setQualityLadder(createQualityLadderFromArray(ladder));
     }
 
     @Nullable
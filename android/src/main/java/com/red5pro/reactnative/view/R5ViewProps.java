@@ -0,0 +1,256 @@
+package com.red5pro.reactnative.view;
+
+import com.red5pro.reactnative.abr.AdaptiveBitrateConfig;
+import com.red5pro.reactnative.reconnect.ReconnectConfig;
+import com.red5pro.reactnative.stream.R5QualityLadder;
+import com.red5pro.streaming.config.R5Configuration;
+
+/**
+ * Immutable snapshot of the props of one R5VideoView.
+ *
+ * Prop setters of a React update write into a {@link Builder}; the snapshot it builds is
+ * applied to the view once, after the whole update has been received, so the view sees
+ * every prop of the update together and in a fixed order.
+ */
+
+public final class R5ViewProps {
+
+    public final R5Configuration configuration;
+    public final String configurationKey;
+
+    public final boolean showDebug;
+    public final int scaleMode;
+    public final int logLevel;
+    public final int audioMode;
+
+    public final boolean publishVideo;
+    public final boolean publishAudio;
+    public final int cameraWidth;
+    public final int cameraHeight;
+    public final int bitrate;
+    public final int framerate;
+    public final int audioBitrate;
+    public final int audioSampleRate;
+    public final boolean useAdaptiveBitrateController;
+    public final AdaptiveBitrateConfig adaptiveBitrateConfig;
+    public final boolean useBackfacingCamera;
+    public final int backgroundPolicy;
+
+    public final boolean autoReconnect;
+    public final ReconnectConfig reconnectConfig;
+    public final int statsInterval;
+    public final int statsBatchSize;
+    public final R5QualityLadder qualityLadder;
+
+    private R5ViewProps(Builder builder) {
+        configuration = builder.configuration;
+        configurationKey = builder.configurationKey;
+        showDebug = builder.showDebug;
+        scaleMode = builder.scaleMode;
+        logLevel = builder.logLevel;
+        audioMode = builder.audioMode;
+        publishVideo = builder.publishVideo;
+        publishAudio = builder.publishAudio;
+        cameraWidth = builder.cameraWidth;
+        cameraHeight = builder.cameraHeight;
+        bitrate = builder.bitrate;
+        framerate = builder.framerate;
+        audioBitrate = builder.audioBitrate;
+        audioSampleRate = builder.audioSampleRate;
+        useAdaptiveBitrateController = builder.useAdaptiveBitrateController;
+        adaptiveBitrateConfig = builder.adaptiveBitrateConfig;
+        useBackfacingCamera = builder.useBackfacingCamera;
+        backgroundPolicy = builder.backgroundPolicy;
+        autoReconnect = builder.autoReconnect;
+        reconnectConfig = builder.reconnectConfig;
+        statsInterval = builder.statsInterval;
+        statsBatchSize = builder.statsBatchSize;
+        qualityLadder = builder.qualityLadder;
+    }
+
+    /**
+     * @return a builder holding the values of this snapshot.
+     */
+    public Builder buildUpon() {
+        return new Builder(this);
+    }
+
+    /**
+     * Collects the props of one update. Defaults match those of the prop setters.
+     */
+    public static final class Builder {
+
+        private R5Configuration configuration;
+        private String configurationKey;
+
+        private boolean showDebug = false;
+        private int scaleMode = 0;
+        private int logLevel = 3;
+        private int audioMode = 0;
+
+        private boolean publishVideo = true;
+        private boolean publishAudio = true;
+        private int cameraWidth = 640;
+        private int cameraHeight = 360;
+        private int bitrate = 750;
+        private int framerate = 15;
+        private int audioBitrate = 32;
+        private int audioSampleRate = 44100;
+        private boolean useAdaptiveBitrateController = false;
+        private AdaptiveBitrateConfig adaptiveBitrateConfig = new AdaptiveBitrateConfig();
+        private boolean useBackfacingCamera = false;
+        private int backgroundPolicy = 0;
+
+        private boolean autoReconnect = false;
+        private ReconnectConfig reconnectConfig = new ReconnectConfig();
+        private int statsInterval = 0;
+        private int statsBatchSize = 10;
+        private R5QualityLadder qualityLadder;
+
+        public Builder() {
+        }
+
+        private Builder(R5ViewProps props) {
+            configuration = props.configuration;
+            configurationKey = props.configurationKey;
+            showDebug = props.showDebug;
+            scaleMode = props.scaleMode;
+            logLevel = props.logLevel;
+            audioMode = props.audioMode;
+            publishVideo = props.publishVideo;
+            publishAudio = props.publishAudio;
+            cameraWidth = props.cameraWidth;
+            cameraHeight = props.cameraHeight;
+            bitrate = props.bitrate;
+            framerate = props.framerate;
+            audioBitrate = props.audioBitrate;
+            audioSampleRate = props.audioSampleRate;
+            useAdaptiveBitrateController = props.useAdaptiveBitrateController;
+            adaptiveBitrateConfig = props.adaptiveBitrateConfig;
+            useBackfacingCamera = props.useBackfacingCamera;
+            backgroundPolicy = props.backgroundPolicy;
+            autoReconnect = props.autoReconnect;
+            reconnectConfig = props.reconnectConfig;
+            statsInterval = props.statsInterval;
+            statsBatchSize = props.statsBatchSize;
+            qualityLadder = props.qualityLadder;
+        }
+
+        public Builder setConfiguration(R5Configuration configuration, String key) {
+            this.configuration = configuration;
+            this.configurationKey = key;
+            return this;
+        }
+
+        public Builder setShowDebug(boolean value) {
+            this.showDebug = value;
+            return this;
+        }
+
+        public Builder setScaleMode(int value) {
+            this.scaleMode = value;
+            return this;
+        }
+
+        public Builder setLogLevel(int value) {
+            this.logLevel = value;
+            return this;
+        }
+
+        public Builder setAudioMode(int value) {
+            this.audioMode = value;
+            return this;
+        }
+
+        public Builder setPublishVideo(boolean value) {
+            this.publishVideo = value;
+            return this;
+        }
+
+        public Builder setPublishAudio(boolean value) {
+            this.publishAudio = value;
+            return this;
+        }
+
+        public Builder setCameraWidth(int value) {
+            this.cameraWidth = value;
+            return this;
+        }
+
+        public Builder setCameraHeight(int value) {
+            this.cameraHeight = value;
+            return this;
+        }
+
+        public Builder setBitrate(int value) {
+            this.bitrate = value;
+            return this;
+        }
+
+        public Builder setFramerate(int value) {
+            this.framerate = value;
+            return this;
+        }
+
+        public Builder setAudioBitrate(int value) {
+            this.audioBitrate = value;
+            return this;
+        }
+
+        public Builder setAudioSampleRate(int value) {
+            this.audioSampleRate = value;
+            return this;
+        }
+
+        public Builder setUseAdaptiveBitrateController(boolean value) {
+            this.useAdaptiveBitrateController = value;
+            return this;
+        }
+
+        public Builder setAdaptiveBitrateConfig(AdaptiveBitrateConfig value) {
+            this.adaptiveBitrateConfig = value;
+            return this;
+        }
+
+        public Builder setUseBackfacingCamera(boolean value) {
+            this.useBackfacingCamera = value;
+            return this;
+        }
+
+        public Builder setBackgroundPolicy(int value) {
+            this.backgroundPolicy = value;
+            return this;
+        }
+
+        public Builder setAutoReconnect(boolean value) {
+            this.autoReconnect = value;
+            return this;
+        }
+
+        public Builder setReconnectConfig(ReconnectConfig value) {
+            this.reconnectConfig = value;
+            return this;
+        }
+
+        public Builder setStatsInterval(int value) {
+            this.statsInterval = value;
+            return this;
+        }
+
+        public Builder setStatsBatchSize(int value) {
+            this.statsBatchSize = value;
+            return this;
+        }
+
+        public Builder setQualityLadder(R5QualityLadder value) {
+            this.qualityLadder = value;
+            return this;
+        }
+
+        public R5ViewProps build() {
+            return new R5ViewProps(this);
+        }
+
+    }
+
+}
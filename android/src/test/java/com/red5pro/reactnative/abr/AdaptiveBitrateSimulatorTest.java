@@ -0,0 +1,83 @@
+package com.red5pro.reactnative.abr;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveBitrateSimulatorTest {
+
+    private AdaptiveBitrateConfig mConfig;
+    private BitrateLadder mLadder;
+    private AdaptiveBitrateEngine mEngine;
+    private AdaptiveBitrateSimulator mSimulator;
+
+    @Before
+    public void setUp() {
+        mConfig = new AdaptiveBitrateConfig();
+        mLadder = BitrateLadder.fromTop(1000, 640, 360, 15, mConfig);
+        mEngine = new AdaptiveBitrateEngine(mLadder, new HysteresisPolicy(mConfig));
+        mSimulator = new AdaptiveBitrateSimulator(mEngine, mConfig);
+    }
+
+    @Test
+    public void readsTraceSkippingCommentsAndBlankLines() throws IOException {
+        List<long[]> trace = AdaptiveBitrateSimulator.readTrace(new StringReader(
+                "# time,bandwidth\n\n0,2000\n 1000 , 1500.6 \n"));
+        assertEquals(2, trace.size());
+        assertArrayEquals(new long[] {0, 2000}, trace.get(0));
+        assertArrayEquals(new long[] {1000, 1501}, trace.get(1));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsMalformedTraceLines() throws IOException {
+        AdaptiveBitrateSimulator.readTrace(new StringReader("0 2000\n"));
+    }
+
+    @Test
+    public void keepsTheTopRungWithAmpleBandwidth() throws IOException {
+        AdaptiveBitrateSimulator.Result result = mSimulator.run(trace("0,2000\n60000,2000\n"));
+        assertEquals(61, result.samples);
+        assertEquals(0, result.switches);
+        assertEquals(1000, result.meanBitrate, 0);
+        assertEquals(0, result.congestedRatio, 0);
+        assertEquals(0, result.maxQueue);
+    }
+
+    @Test
+    public void stepsDownToTheBottomWhenBandwidthDrops() throws IOException {
+        AdaptiveBitrateSimulator.Result result = mSimulator.run(trace("0,2000\n30000,100\n60000,100\n"));
+        assertEquals(mLadder.size() - 1, mEngine.getCurrentIndex());
+        assertEquals(mLadder.size() - 1, result.switches);
+        assertTrue(result.congestedRatio > 0);
+        assertTrue(result.meanBitrate < 1000);
+    }
+
+    @Test
+    public void recoversOnceBandwidthReturns() throws IOException {
+        AdaptiveBitrateSimulator.Result result = mSimulator.run(trace("0,2000\n10000,600\n20000,5000\n120000,5000\n"));
+        assertEquals(0, mEngine.getCurrentIndex());
+        assertTrue(result.switches >= 2);
+    }
+
+    @Test
+    public void replaysIdenticallyAfterReset() throws IOException {
+        List<long[]> trace = trace("0,2000\n10000,300\n30000,1200\n90000,1200\n");
+        AdaptiveBitrateSimulator.Result first = mSimulator.run(trace);
+        AdaptiveBitrateSimulator.Result second = mSimulator.run(trace);
+        assertEquals(first.switches, second.switches);
+        assertEquals(first.meanBitrate, second.meanBitrate, 0);
+        assertEquals(first.maxQueue, second.maxQueue);
+    }
+
+    private static List<long[]> trace(String csv) throws IOException {
+        return AdaptiveBitrateSimulator.readTrace(new StringReader(csv));
+    }
+
+}
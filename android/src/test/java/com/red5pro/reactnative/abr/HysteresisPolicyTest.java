@@ -0,0 +1,110 @@
+package com.red5pro.reactnative.abr;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class HysteresisPolicyTest {
+
+    private static final double THROUGHPUT = 1000;
+    private static final long CONGESTED = 50;
+    private static final long CLEAR = 0;
+    // Above queueLow, below queueHigh: neither congested nor clear at full throughput.
+    private static final long BUSY = 10;
+
+    private AdaptiveBitrateConfig mConfig;
+    private BitrateLadder mLadder;
+    private HysteresisPolicy mPolicy;
+
+    @Before
+    public void setUp() {
+        mConfig = new AdaptiveBitrateConfig();
+        mLadder = new BitrateLadder(Arrays.asList(
+                new BitrateLadder.Rung(1000, 640, 360, 15),
+                new BitrateLadder.Rung(650, 640, 360, 15),
+                new BitrateLadder.Rung(420, 640, 360, 15)));
+        mPolicy = new HysteresisPolicy(mConfig);
+    }
+
+    @Test
+    public void stepsDownOnlyAfterCongestionIsHeld() {
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, 0));
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, mConfig.downgradeHoldTime - 1));
+        assertEquals(1, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, mConfig.downgradeHoldTime));
+    }
+
+    @Test
+    public void briefCongestionDoesNotStepDown() {
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, 0));
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, 1000));
+        // The congestion clears up before the hold time; it has to build up again.
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, THROUGHPUT, BUSY, 1500));
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, 2000));
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, 3000));
+        assertEquals(1, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, 4000));
+    }
+
+    @Test
+    public void lowThroughputWithAQueueCountsAsCongestion() {
+        double behind = mLadder.get(0).bitrate * mConfig.downThreshold - 1;
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, behind, BUSY, 0));
+        assertEquals(1, mPolicy.evaluate(mLadder, 0, behind, BUSY, mConfig.downgradeHoldTime));
+    }
+
+    @Test
+    public void lowThroughputWithAnEmptyQueueIsNotCongestion() {
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, 100, CLEAR, 0));
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, 100, CLEAR, mConfig.downgradeHoldTime * 10));
+    }
+
+    @Test
+    public void waitsForTheDwellTimeBetweenSteps() {
+        long now = 0;
+        int current = 0;
+        for (; current == 0; now += 1000) {
+            current = mPolicy.evaluate(mLadder, current, THROUGHPUT, CONGESTED, now);
+        }
+        long switched = now - 1000;
+        for (; now < switched + mConfig.minDwellTime; now += 1000) {
+            assertEquals(1, mPolicy.evaluate(mLadder, current, THROUGHPUT, CONGESTED, now));
+        }
+        assertEquals(2, mPolicy.evaluate(mLadder, current, THROUGHPUT, CONGESTED, now));
+    }
+
+    @Test
+    public void staysOnTheBottomRung() {
+        for (long now = 0; now < 60000; now += 1000) {
+            assertEquals(2, mPolicy.evaluate(mLadder, 2, THROUGHPUT, CONGESTED, now));
+        }
+    }
+
+    @Test
+    public void stepsUpAfterTheQueueStaysClear() {
+        assertEquals(1, mPolicy.evaluate(mLadder, 1, THROUGHPUT, CLEAR, 0));
+        assertEquals(1, mPolicy.evaluate(mLadder, 1, THROUGHPUT, CLEAR, mConfig.upgradeHoldTime - 1));
+        assertEquals(0, mPolicy.evaluate(mLadder, 1, THROUGHPUT, CLEAR, mConfig.upgradeHoldTime));
+        // Nothing above the top rung.
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CLEAR, mConfig.upgradeHoldTime * 3));
+    }
+
+    @Test
+    public void congestionRestartsTheUpgradeHold() {
+        assertEquals(1, mPolicy.evaluate(mLadder, 1, THROUGHPUT, CLEAR, 0));
+        assertEquals(1, mPolicy.evaluate(mLadder, 1, THROUGHPUT, CONGESTED, 5000));
+        assertEquals(1, mPolicy.evaluate(mLadder, 1, THROUGHPUT, CLEAR, 6000));
+        assertEquals(1, mPolicy.evaluate(mLadder, 1, THROUGHPUT, CLEAR, 6000 + mConfig.upgradeHoldTime - 1));
+        assertEquals(0, mPolicy.evaluate(mLadder, 1, THROUGHPUT, CLEAR, 6000 + mConfig.upgradeHoldTime));
+    }
+
+    @Test
+    public void resetForgetsHeldCongestion() {
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, 0));
+        mPolicy.reset();
+        assertEquals(0, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, mConfig.downgradeHoldTime));
+        assertEquals(1, mPolicy.evaluate(mLadder, 0, THROUGHPUT, CONGESTED, mConfig.downgradeHoldTime * 2));
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.red5pro.reactnative.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void isEmptyInitially() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileMicros(50));
+        assertEquals(0, histogram.getMeanMicros(), 0);
+    }
+
+    @Test
+    public void countsSmallValuesExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertEquals(5, histogram.getPercentileMicros(50));
+        assertEquals(9, histogram.getPercentileMicros(90));
+        assertEquals(10, histogram.getPercentileMicros(100));
+        assertEquals(5.5, histogram.getMeanMicros(), 0);
+    }
+
+    @Test
+    public void boundsThePercentileError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value);
+        }
+        long[] percentiles = {50, 90, 99};
+        for (long percentile : percentiles) {
+            long exact = percentile * 1000;
+            long reported = histogram.getPercentileMicros(percentile);
+            assertTrue(reported >= exact);
+            assertTrue(reported <= exact * 1.125);
+        }
+    }
+
+    @Test
+    public void tracksTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(2500000);
+        histogram.record(-5);
+        assertEquals(2500, histogram.getMaxMicros());
+        assertEquals(2500, histogram.getPercentileMicros(100));
+        assertEquals(0, histogram.getPercentileMicros(50));
+    }
+
+    @Test
+    public void bucketsCoverTheirValues() {
+        for (long value = 0; value < 1 << 20; value += 7) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.upperBoundOf(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.upperBoundOf(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void resetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxMicros());
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.red5pro.reactnative.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LifecycleTimerTest {
+
+    private static void start(LifecycleTimer timer) {
+        timer.mark(LifecycleTimer.Mark.COMMAND_RECEIVED);
+        timer.mark(LifecycleTimer.Mark.COMMAND_STARTED);
+        timer.mark(LifecycleTimer.Mark.CONNECTED);
+        timer.mark(LifecycleTimer.Mark.STREAMING);
+    }
+
+    @Test
+    public void recordsEachPhaseOfAStartup() {
+        MetricsRegistry registry = new MetricsRegistry();
+        LifecycleTimer timer = new LifecycleTimer(registry);
+        start(timer);
+
+        for (MetricsRegistry.Phase phase : new MetricsRegistry.Phase[] {
+                MetricsRegistry.Phase.DISPATCH, MetricsRegistry.Phase.CONNECT,
+                MetricsRegistry.Phase.START, MetricsRegistry.Phase.STARTUP}) {
+            assertEquals(1, registry.getHistogram(phase).getCount());
+            assertTrue(timer.getDuration(phase) >= 0);
+        }
+        assertEquals(0, registry.getHistogram(MetricsRegistry.Phase.CONFIGURE).getCount());
+    }
+
+    @Test
+    public void ignoresReconnectsOfARunningStream() {
+        MetricsRegistry registry = new MetricsRegistry();
+        LifecycleTimer timer = new LifecycleTimer(registry);
+        start(timer);
+        long startup = timer.getDuration(MetricsRegistry.Phase.STARTUP);
+
+        // A reconnect or variant switch delivers CONNECTED and START_STREAMING again.
+        timer.mark(LifecycleTimer.Mark.CONNECTED);
+        timer.mark(LifecycleTimer.Mark.STREAMING);
+
+        assertTrue(timer.isMarked(LifecycleTimer.Mark.STREAMING));
+        assertEquals(startup, timer.getDuration(MetricsRegistry.Phase.STARTUP));
+        assertEquals(1, registry.getHistogram(MetricsRegistry.Phase.CONNECT).getCount());
+        assertEquals(1, registry.getHistogram(MetricsRegistry.Phase.START).getCount());
+        assertEquals(1, registry.getHistogram(MetricsRegistry.Phase.STARTUP).getCount());
+    }
+
+    @Test
+    public void aNewCommandStartsANewTimeline() {
+        MetricsRegistry registry = new MetricsRegistry();
+        LifecycleTimer timer = new LifecycleTimer(registry);
+        start(timer);
+
+        timer.mark(LifecycleTimer.Mark.COMMAND_RECEIVED);
+        assertFalse(timer.isMarked(LifecycleTimer.Mark.STREAMING));
+        timer.mark(LifecycleTimer.Mark.COMMAND_STARTED);
+        timer.mark(LifecycleTimer.Mark.CONNECTED);
+        timer.mark(LifecycleTimer.Mark.STREAMING);
+
+        assertEquals(2, registry.getHistogram(MetricsRegistry.Phase.STARTUP).getCount());
+    }
+
+    @Test
+    public void skipsPhasesWithoutAStart() {
+        MetricsRegistry registry = new MetricsRegistry();
+        LifecycleTimer timer = new LifecycleTimer(registry);
+        timer.mark(LifecycleTimer.Mark.CONNECTED);
+        timer.mark(LifecycleTimer.Mark.STREAMING);
+
+        assertEquals(-1, timer.getDuration(MetricsRegistry.Phase.STARTUP));
+        assertEquals(0, registry.getHistogram(MetricsRegistry.Phase.STARTUP).getCount());
+        assertEquals(1, registry.getHistogram(MetricsRegistry.Phase.START).getCount());
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.red5pro.reactnative.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StatsRingBufferTest {
+
+    @Test
+    public void roundsCapacityUpToAPowerOfTwo() {
+        assertEquals(2, new StatsRingBuffer(1).getCapacity());
+        assertEquals(8, new StatsRingBuffer(5).getCapacity());
+        assertEquals(64, new StatsRingBuffer(64).getCapacity());
+    }
+
+    @Test
+    public void drainsOldestFirst() {
+        StatsRingBuffer buffer = new StatsRingBuffer(4);
+        for (int i = 0; i < 3; i++) {
+            buffer.offer(sample(i));
+        }
+        assertEquals(Integer.valueOf(0), drain(buffer, 1).get(0));
+        List<Integer> rest = drain(buffer, 10);
+        assertEquals(2, rest.size());
+        assertEquals(Integer.valueOf(1), rest.get(0));
+        assertEquals(Integer.valueOf(2), rest.get(1));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void dropsAndCountsSamplesWhenFull() {
+        StatsRingBuffer buffer = new StatsRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(sample(i)));
+        }
+        assertFalse(buffer.offer(sample(4)));
+        assertEquals(1, buffer.getOverflowCount());
+        assertEquals(4, buffer.getWrittenCount());
+        // The rows already written are kept, not overwritten.
+        assertEquals(Integer.valueOf(0), drain(buffer, 1).get(0));
+    }
+
+    @Test
+    public void wrapsAround() {
+        StatsRingBuffer buffer = new StatsRingBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(sample(i));
+            assertEquals(Integer.valueOf(i), drain(buffer, 1).get(0));
+        }
+        assertEquals(0, buffer.getOverflowCount());
+    }
+
+    @Test
+    public void copiesAllFields() {
+        StatsRingBuffer buffer = new StatsRingBuffer(2);
+        final double[] sample = new double[StatsRingBuffer.FIELD_COUNT];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = i + 0.5;
+        }
+        buffer.offer(sample);
+        sample[0] = -1;
+        buffer.drain(new StatsRingBuffer.Reader() {
+            @Override
+            public void onSample(double[] values, int offset) {
+                for (int i = 0; i < StatsRingBuffer.FIELD_COUNT; i++) {
+                    assertEquals(i + 0.5, values[offset + i], 0);
+                }
+            }
+        }, 1);
+    }
+
+    private static double[] sample(int time) {
+        double[] sample = new double[StatsRingBuffer.FIELD_COUNT];
+        sample[StatsRingBuffer.TIME] = time;
+        return sample;
+    }
+
+    private static List<Integer> drain(StatsRingBuffer buffer, int max) {
+        final List<Integer> times = new ArrayList<>();
+        buffer.drain(new StatsRingBuffer.Reader() {
+            @Override
+            public void onSample(double[] values, int offset) {
+                times.add((int) values[offset + StatsRingBuffer.TIME]);
+            }
+        }, max);
+        return times;
+    }
+
+}
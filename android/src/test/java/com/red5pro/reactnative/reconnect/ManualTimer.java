@@ -0,0 +1,80 @@
+package com.red5pro.reactnative.reconnect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timer whose clock only moves when advanced, for driving a {@link ReconnectScheduler}
+ * deterministically off-device. Tasks run on the thread calling {@link #advance(long)}.
+ */
+
+public class ManualTimer implements ReconnectScheduler.Timer {
+
+    private static class Entry {
+
+        final Runnable task;
+        final long dueAt;
+
+        Entry(Runnable task, long dueAt) {
+            this.task = task;
+            this.dueAt = dueAt;
+        }
+
+    }
+
+    private final List<Entry> mEntries = new ArrayList<>();
+    private long mNow;
+
+    @Override
+    public synchronized long now() {
+        return mNow;
+    }
+
+    @Override
+    public synchronized void schedule(Runnable task, long delayMs) {
+        mEntries.add(new Entry(task, mNow + delayMs));
+    }
+
+    @Override
+    public synchronized void cancel(Runnable task) {
+        for (int i = mEntries.size() - 1; i >= 0; i--) {
+            if (mEntries.get(i).task == task) {
+                mEntries.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Moves the clock forward, running due tasks in order of their due time.
+     */
+    public void advance(long ms) {
+
+        long target;
+        synchronized (this) {
+            target = mNow + ms;
+        }
+        while (true) {
+            Entry next = null;
+            synchronized (this) {
+                for (Entry entry : mEntries) {
+                    if (entry.dueAt <= target && (next == null || entry.dueAt < next.dueAt)) {
+                        next = entry;
+                    }
+                }
+                if (next == null) {
+                    mNow = target;
+                    return;
+                }
+                mEntries.remove(next);
+                mNow = next.dueAt;
+            }
+            next.task.run();
+        }
+
+    }
+
+    public synchronized int getPendingCount() {
+        return mEntries.size();
+    }
+
+}
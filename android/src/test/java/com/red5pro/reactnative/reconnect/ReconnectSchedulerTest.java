@@ -0,0 +1,181 @@
+package com.red5pro.reactnative.reconnect;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReconnectSchedulerTest {
+
+    private final List<long[]> mAttempts = new ArrayList<>();
+    private String mFailure;
+    private int mFailedAttempts;
+
+    private ReconnectConfig mConfig;
+    private ManualTimer mTimer;
+
+    private final ReconnectScheduler.Listener mListener = new ReconnectScheduler.Listener() {
+        @Override
+        public void onReconnectAttempt(int attempt, long delayMs) {
+            mAttempts.add(new long[] {attempt, delayMs, mTimer.now()});
+        }
+
+        @Override
+        public void onReconnectFailed(int attempts, long elapsedMs, String reason) {
+            mFailedAttempts = attempts;
+            mFailure = reason;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        mConfig = new ReconnectConfig();
+        mConfig.jitter = 0;
+        mTimer = new ManualTimer();
+    }
+
+    @Test
+    public void backsOffExponentiallyUpToTheMaximum() {
+        mConfig.initialDelay = 100;
+        mConfig.maxDelay = 1000;
+        ReconnectScheduler scheduler = create(new Random(1));
+        long[] expected = {100, 200, 400, 800, 1000, 1000};
+        for (int attempt = 1; attempt <= expected.length; attempt++) {
+            assertEquals(expected[attempt - 1], scheduler.delayFor(attempt));
+        }
+    }
+
+    @Test
+    public void attemptsAfterEachDelay() {
+        ReconnectScheduler scheduler = create(new Random(1));
+        scheduler.start();
+        mTimer.advance(mConfig.initialDelay - 1);
+        assertTrue(mAttempts.isEmpty());
+        mTimer.advance(1);
+        assertEquals(1, mAttempts.size());
+        assertEquals(mConfig.initialDelay, mAttempts.get(0)[1]);
+
+        scheduler.onAttemptFailed("timeout");
+        mTimer.advance(mConfig.initialDelay * 2);
+        assertEquals(2, mAttempts.size());
+        assertEquals(2, mAttempts.get(1)[0]);
+        assertEquals(mConfig.initialDelay * 3, mAttempts.get(1)[2]);
+    }
+
+    @Test
+    public void keepsJitterWithinBounds() {
+        mConfig.jitter = 0.2;
+        mConfig.initialDelay = 1000;
+        ReconnectScheduler scheduler = create(new Random(42));
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 10000; i++) {
+            long delay = scheduler.delayFor(1);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+        assertTrue(min >= 800);
+        assertTrue(max <= 1200);
+        // Actually spread, not stuck on one value.
+        assertTrue(max - min > 300);
+    }
+
+    @Test
+    public void clampsJitterToTheDelay() {
+        mConfig.jitter = 5;
+        ReconnectScheduler scheduler = create(new Random(7));
+        for (int i = 0; i < 1000; i++) {
+            long delay = scheduler.delayFor(1);
+            assertTrue(delay >= 0 && delay <= mConfig.initialDelay * 2);
+        }
+    }
+
+    @Test
+    public void givesUpAtTheDeadline() {
+        mConfig.initialDelay = 1000;
+        mConfig.multiplier = 2;
+        mConfig.maxDelay = 60000;
+        mConfig.maxAttempts = 0;
+        mConfig.deadline = 10000;
+        ReconnectScheduler scheduler = create(new Random(1));
+        scheduler.start();
+        // Attempts at 1000, 3000 and 7000, each failing at once; the next would be at 15000.
+        long[] delays = {1000, 2000, 4000};
+        for (long delay : delays) {
+            mTimer.advance(delay);
+            scheduler.onAttemptFailed("timeout");
+        }
+        assertEquals(3, mAttempts.size());
+        assertEquals(7000, mAttempts.get(2)[2]);
+        assertEquals("deadline", mFailure);
+        assertEquals(3, mFailedAttempts);
+        assertFalse(scheduler.isActive());
+        assertEquals(0, mTimer.getPendingCount());
+    }
+
+    @Test
+    public void givesUpAfterTheLastAttempt() {
+        mConfig.maxAttempts = 2;
+        mConfig.deadline = 0;
+        ReconnectScheduler scheduler = create(new Random(1));
+        scheduler.start();
+        mTimer.advance(60000);
+        scheduler.onAttemptFailed("error");
+        mTimer.advance(60000);
+        scheduler.onAttemptFailed("refused");
+        assertEquals(2, mAttempts.size());
+        assertEquals("refused", mFailure);
+        assertFalse(scheduler.isActive());
+    }
+
+    @Test
+    public void endsOnceConnected() {
+        ReconnectScheduler scheduler = create(new Random(1));
+        scheduler.start();
+        mTimer.advance(mConfig.initialDelay);
+        assertEquals(1, scheduler.onConnected());
+        assertFalse(scheduler.isActive());
+        scheduler.onAttemptFailed("late");
+        assertEquals(0, mTimer.getPendingCount());
+        assertNull(mFailure);
+    }
+
+    @Test
+    public void cancelStopsSilently() {
+        ReconnectScheduler scheduler = create(new Random(1));
+        scheduler.start();
+        scheduler.cancel();
+        mTimer.advance(60000);
+        assertTrue(mAttempts.isEmpty());
+        assertNull(mFailure);
+    }
+
+    @Test
+    public void abortReportsTheReason() {
+        ReconnectScheduler scheduler = create(new Random(1));
+        scheduler.start();
+        mTimer.advance(mConfig.initialDelay);
+        scheduler.abort("disabled");
+        assertEquals("disabled", mFailure);
+        assertEquals(1, mFailedAttempts);
+        assertFalse(scheduler.isActive());
+
+        mFailure = null;
+        scheduler.abort("again");
+        assertNull(mFailure);
+    }
+
+    private ReconnectScheduler create(Random random) {
+        ReconnectScheduler scheduler = new ReconnectScheduler(mConfig, mTimer, random);
+        scheduler.setListener(mListener);
+        return scheduler;
+    }
+
+}
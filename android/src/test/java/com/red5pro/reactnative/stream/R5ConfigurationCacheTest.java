@@ -0,0 +1,40 @@
+package com.red5pro.reactnative.stream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class R5ConfigurationCacheTest {
+
+    private static String key(String host, String contextName, String streamName, String parameters,
+                              String licenseKey, String bundleID) {
+        return R5ConfigurationCache.keyOf(host, 8554, contextName, streamName, 1.0f, 0.5f,
+                parameters, licenseKey, bundleID);
+    }
+
+    @Test
+    public void equalValuesGiveEqualKeys() {
+        assertEquals(key("host", "live", "stream1", "a=b;", "KEY", "app"),
+                key("host", "live", "stream1", "a=b;", "KEY", "app"));
+    }
+
+    @Test
+    public void separatorsInsideValuesDoNotCollide() {
+        assertNotEquals(key("host", "live", "stream1", "", "KEY|x", "app"),
+                key("host", "live", "stream1", "", "KEY", "x|app"));
+        assertNotEquals(key("host", "live/a", "b", "", "KEY", "app"),
+                key("host", "live", "a/b", "", "KEY", "app"));
+        assertNotEquals(key("host", "live", "stream1", "a?b", "KEY", "app"),
+                key("host", "live", "stream1?a", "b", "KEY", "app"));
+    }
+
+    @Test
+    public void nullDiffersFromTheStringNull() {
+        assertNotEquals(key("host", "live", "stream1", null, "KEY", "app"),
+                key("host", "live", "stream1", "null", "KEY", "app"));
+        assertNotEquals(key("host", "live", "stream1", null, "KEY", "app"),
+                key("host", "live", "stream1", "", "KEY", "app"));
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.red5pro.reactnative.stream;
+
+import com.red5pro.streaming.R5StreamProtocol;
+import com.red5pro.streaming.config.R5Configuration;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class R5ConfigurationFactoryTest {
+
+    @Test
+    public void copiesAreSeparateWithEqualValues() {
+        R5Configuration shared = new R5Configuration(R5StreamProtocol.RTSP, "host", 8554, "live", 1.0f, "a=b;");
+        shared.setStreamBufferTime(0.5f);
+        shared.setBundleID("app");
+        shared.setStreamName("stream1");
+        shared.setLicenseKey("KEY");
+
+        R5Configuration copy = R5ConfigurationFactory.copyOf(shared);
+        assertNotSame(shared, copy);
+        assertEquals("host", copy.getHost());
+        assertEquals(8554, copy.getPort());
+        assertEquals("live", copy.getContextName());
+        assertEquals("a=b;", copy.getParameters());
+        assertEquals(1.0f, copy.getBufferTime(), 0f);
+        assertEquals(0.5f, copy.getStreamBufferTime(), 0f);
+        assertEquals("app", copy.getBundleID());
+        assertEquals("KEY", copy.getLicenseKey());
+        assertEquals("stream1", copy.getStreamName());
+
+        copy.setStreamName("stream2");
+        assertEquals("stream1", shared.getStreamName());
+    }
+
+}
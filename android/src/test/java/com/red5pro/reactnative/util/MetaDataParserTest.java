@@ -0,0 +1,78 @@
+package com.red5pro.reactnative.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class MetaDataParserTest {
+
+    private final MetaDataParser mParser = new MetaDataParser();
+
+    @Test
+    public void parsesProperties() {
+        assertEquals(3, mParser.parse("orientation=90;width=640;height=360"));
+        assertEquals(90, mParser.getOrientation(-1));
+        assertEquals(640, mParser.getWidth(-1));
+        assertEquals(360, mParser.getHeight(-1));
+    }
+
+    @Test
+    public void matchesKeysIgnoringCase() {
+        mParser.parse("Orientation=270");
+        assertEquals(270, mParser.getOrientation(-1));
+    }
+
+    @Test
+    public void trimsKeysAndValues() {
+        mParser.parse(" orientation = 180 ; streamingMode = Video/Audio ;");
+        assertEquals(2, mParser.size());
+        assertEquals(180, mParser.getOrientation(-1));
+        assertEquals("Video/Audio", mParser.getString("streamingMode"));
+    }
+
+    @Test
+    public void truncatesFractions() {
+        mParser.parse("orientation=90.0;width=-12.7");
+        assertEquals(90, mParser.getOrientation(-1));
+        assertEquals(-12, mParser.getWidth(-1));
+    }
+
+    @Test
+    public void fallsBackOnNonNumericValues() {
+        mParser.parse("orientation=ninety;width=;height=99999999999;x=12px");
+        assertEquals(-1, mParser.getOrientation(-1));
+        assertEquals(-1, mParser.getWidth(-1));
+        assertEquals(-1, mParser.getHeight(-1));
+        assertEquals(-1, mParser.getInt("x", -1));
+    }
+
+    @Test
+    public void keepsKeysWithoutValues() {
+        mParser.parse("live;orientation=0");
+        assertEquals("", mParser.getString("live"));
+        assertEquals(0, mParser.getOrientation(-1));
+    }
+
+    @Test
+    public void skipsEmptyKeys() {
+        assertEquals(1, mParser.parse(";;=5;width=1"));
+        assertEquals("width", mParser.getKeyAt(0));
+    }
+
+    @Test
+    public void replacesThePreviousResult() {
+        mParser.parse("orientation=90");
+        mParser.parse("width=640");
+        assertFalse(mParser.hasKey("orientation"));
+        assertNull(mParser.getString("orientation"));
+    }
+
+    @Test
+    public void acceptsNull() {
+        assertEquals(0, mParser.parse(null));
+        assertEquals(-1, mParser.getOrientation(-1));
+    }
+
+}
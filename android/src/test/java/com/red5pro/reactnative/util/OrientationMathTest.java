@@ -0,0 +1,51 @@
+package com.red5pro.reactnative.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OrientationMathTest {
+
+    @Test
+    public void convertsRotationsToDegrees() {
+        assertEquals(0, OrientationMath.degreesOf(0));
+        assertEquals(90, OrientationMath.degreesOf(1));
+        assertEquals(180, OrientationMath.degreesOf(2));
+        assertEquals(270, OrientationMath.degreesOf(3));
+        assertEquals(0, OrientationMath.inverseDegreesOf(0));
+        assertEquals(270, OrientationMath.inverseDegreesOf(1));
+        assertEquals(90, OrientationMath.inverseDegreesOf(3));
+    }
+
+    @Test
+    public void tellsSidewaysRotations() {
+        assertFalse(OrientationMath.isSideways(0));
+        assertTrue(OrientationMath.isSideways(1));
+        assertFalse(OrientationMath.isSideways(2));
+        assertTrue(OrientationMath.isSideways(3));
+    }
+
+    @Test
+    public void appliesRotationsModulo360() {
+        assertEquals(0, OrientationMath.applyRotation(270, 1));
+        assertEquals(180, OrientationMath.applyInverseRotation(90, 3));
+        assertEquals(0, OrientationMath.displayOrientation(90, 1));
+    }
+
+    @Test
+    public void flipsSidewaysFrontCameraOnly() {
+        assertEquals(-90, OrientationMath.cameraOrientation(90, 1, false));
+        assertEquals(90, OrientationMath.cameraOrientation(90, 1, true));
+        assertEquals(90, OrientationMath.cameraOrientation(90, 0, false));
+    }
+
+    @Test
+    public void rotatesFrontCameraPreviewFurther() {
+        assertEquals(90, OrientationMath.previewOrientation(90, true));
+        assertEquals(270, OrientationMath.previewOrientation(90, false));
+        assertEquals(0, OrientationMath.previewOrientation(180, false));
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.red5pro.reactnative.view;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class R5StreamStateTest {
+
+    private final List<String> mTransitions = new ArrayList<>();
+    private R5StreamState mState;
+
+    @Before
+    public void setUp() {
+        mState = new R5StreamState(new R5StreamState.Listener() {
+            @Override
+            public void onStateChange(R5StreamState.State previous, R5StreamState.State state) {
+                mTransitions.add(previous + ">" + state);
+            }
+        });
+    }
+
+    @Test
+    public void startsIdle() {
+        assertTrue(mState.is(R5StreamState.State.IDLE));
+    }
+
+    @Test
+    public void followsTheStreamLifecycle() {
+        assertTrue(mState.compareAndSet(R5StreamState.State.IDLE, R5StreamState.State.CONFIGURED));
+        assertTrue(mState.compareAndSet(R5StreamState.State.CONFIGURED, R5StreamState.State.CONNECTING));
+        assertTrue(mState.compareAndSet(R5StreamState.State.CONNECTING, R5StreamState.State.STREAMING));
+        assertTrue(mState.compareAndSet(R5StreamState.State.STREAMING, R5StreamState.State.CONNECTING));
+        assertTrue(mState.compareAndSet(R5StreamState.State.CONNECTING, R5StreamState.State.STREAMING));
+        assertTrue(mState.compareAndSet(R5StreamState.State.STREAMING, R5StreamState.State.STOPPING));
+        assertTrue(mState.compareAndSet(R5StreamState.State.STOPPING, R5StreamState.State.IDLE));
+        assertEquals(7, mTransitions.size());
+        assertEquals("streaming>connecting", mTransitions.get(3));
+    }
+
+    @Test
+    public void staleCompareAndSetFails() {
+        mState.compareAndSet(R5StreamState.State.IDLE, R5StreamState.State.CONFIGURED);
+        assertFalse(mState.compareAndSet(R5StreamState.State.IDLE, R5StreamState.State.CONFIGURED));
+        assertFalse(mState.compareAndSet(R5StreamState.State.STREAMING, R5StreamState.State.STOPPING));
+        assertTrue(mState.is(R5StreamState.State.CONFIGURED));
+        assertEquals(1, mTransitions.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTransitionsOutsideTheLifecycle() {
+        mState.compareAndSet(R5StreamState.State.IDLE, R5StreamState.State.STREAMING);
+    }
+
+    @Test
+    public void reconfiguringIsNotReported() {
+        mState.compareAndSet(R5StreamState.State.IDLE, R5StreamState.State.CONFIGURED);
+        assertTrue(mState.compareAndSet(R5StreamState.State.CONFIGURED, R5StreamState.State.CONFIGURED));
+        assertEquals(1, mTransitions.size());
+    }
+
+    @Test
+    public void moveToReturnsTheStateLeft() {
+        assertNull(mState.moveTo(R5StreamState.State.STOPPING));
+        assertEquals(R5StreamState.State.IDLE, mState.moveTo(R5StreamState.State.CONFIGURED));
+        assertEquals(R5StreamState.State.CONFIGURED, mState.moveTo(R5StreamState.State.RELEASED));
+    }
+
+    @Test
+    public void releasedIsFinal() {
+        mState.moveTo(R5StreamState.State.RELEASED);
+        for (R5StreamState.State next : R5StreamState.State.values()) {
+            assertFalse(R5StreamState.isAllowed(R5StreamState.State.RELEASED, next));
+            assertNull(mState.moveTo(next));
+        }
+        assertTrue(mState.is(R5StreamState.State.RELEASED));
+    }
+
+    @Test
+    public void racingThreadsWinOnce() throws InterruptedException {
+        mState.compareAndSet(R5StreamState.State.IDLE, R5StreamState.State.CONFIGURED);
+        mState.compareAndSet(R5StreamState.State.CONFIGURED, R5StreamState.State.CONNECTING);
+        final int[] wins = new int[1];
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    if (mState.compareAndSet(R5StreamState.State.CONNECTING, R5StreamState.State.STREAMING)) {
+                        synchronized (wins) {
+                            wins[0]++;
+                        }
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, wins[0]);
+    }
+
+}
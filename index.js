@@ -3,16 +3,26 @@ import R5AudioMode from './src/enum/R5VideoView.audiomode'
 import R5LogLevel from './src/enum/R5VideoView.loglevel'
 import R5PublishType from './src/enum/R5VideoView.publishtype'
 import R5ScaleMode from './src/enum/R5VideoView.scalemode'
+import R5BackgroundPolicy from './src/enum/R5VideoView.backgroundpolicy'
+import R5TraceLevel from './src/enum/R5VideoView.tracelevel'
 
 import { subscribe,
   unsubscribe,
   publish,
   unpublish,
   swapCamera,
-  updateScaleMode } from './src/commands/R5VideoView.commands'
+  updateScaleMode,
+  preconnect } from './src/commands/R5VideoView.commands'
+import { queryStreams,
+  applyControls,
+  configureTrace,
+  dumpTrace,
+  runLoadTest,
+  toStreamRows } from './src/module/R5StreamModule'
 
 module.exports = {
   R5VideoView,
-  subscribe, unsubscribe, publish, unpublish, swapCamera, updateScaleMode,
-  R5AudioMode, R5LogLevel, R5PublishType, R5ScaleMode
+  subscribe, unsubscribe, publish, unpublish, swapCamera, updateScaleMode, preconnect,
+  queryStreams, applyControls, configureTrace, dumpTrace, runLoadTest, toStreamRows,
+  R5AudioMode, R5LogLevel, R5PublishType, R5ScaleMode, R5BackgroundPolicy, R5TraceLevel
 }
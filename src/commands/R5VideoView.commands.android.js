@@ -29,3 +29,7 @@ export const updateScaleMode = (handle, mode) => {
   UIManager.dispatchViewManagerCommand(handle, Commands.updateScaleMode, [mode])
 }
 
+export const preconnect = (handle, configuration) => {
+  UIManager.dispatchViewManagerCommand(handle, Commands.preconnect, [configuration])
+}
+
@@ -0,0 +1,4 @@
+export default Object.freeze({
+  CONTINUE: 0,
+  AUDIO_ONLY: 1
+})
@@ -0,0 +1,7 @@
+export default Object.freeze({
+  OFF: 0,
+  ERROR: 1,
+  WARN: 2,
+  INFO: 3,
+  DEBUG: 4
+})
@@ -0,0 +1,27 @@
+import { NativeModules } from 'react-native'
+
+const { R5StreamModule } = NativeModules
+
+export const queryStreams = () => R5StreamModule.queryStreams()
+
+export const applyControls = (operations) => R5StreamModule.applyControls(operations)
+
+export const configureTrace = (options) => R5StreamModule.configureTrace(options)
+
+export const dumpTrace = (options = {}) => R5StreamModule.dumpTrace(options)
+
+export const runLoadTest = (options = {}) => R5StreamModule.runLoadTest(options)
+
+// Expands the flat result of queryStreams into one object per view.
+export const toStreamRows = (result) => {
+  const { fields, values, streamNames } = result
+  const rows = []
+  for (let offset = 0, row = 0; offset < values.length; offset += fields.length, row++) {
+    const entry = { streamName: streamNames[row] }
+    fields.forEach((field, index) => {
+      entry[field] = values[offset + index]
+    })
+    rows.push(entry)
+  }
+  return rows
+}
@@ -0,0 +1,12 @@
+// android only
+export const queryStreams = () => Promise.resolve({ fields: [], values: [], streamNames: [], totals: {}, resources: {} })
+
+export const applyControls = (operations) => Promise.resolve(operations.map(() => 0))
+
+export const configureTrace = (options) => Promise.resolve(null)
+
+export const dumpTrace = (options = {}) => Promise.resolve({ fields: [], values: [], events: {}, count: 0, written: 0 })
+
+export const runLoadTest = (options = {}) => Promise.resolve(null)
+
+export const toStreamRows = (result) => []
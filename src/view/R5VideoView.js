@@ -3,6 +3,7 @@ import PropTypes from 'prop-types'
 import R5LogLevel from '../enum/R5VideoView.loglevel'
 import R5ScaleMode from '../enum/R5VideoView.scalemode'
 import R5AudioMode from '../enum/R5VideoView.audiomode'
+import R5BackgroundPolicy from '../enum/R5VideoView.backgroundpolicy'
 import R5PublishType from '../enum/R5VideoView.publishtype'
 import { requireNativeComponent, ViewPropTypes } from 'react-native'
 
@@ -16,6 +17,16 @@ class R5VideoView extends React.Component {
     this._onSubscriberStreamStatus = this._onSubscriberStreamStatus.bind(this)
     this._onUnpublishNotification = this._onUnpublishNotification.bind(this)
     this._onUnsubscribeNotification = this._onUnsubscribeNotification.bind(this)
+    this._onCameraSwapped = this._onCameraSwapped.bind(this)
+    this._onCommandResult = this._onCommandResult.bind(this)
+    this._onStartupMetrics = this._onStartupMetrics.bind(this)
+    this._onAdaptiveBitrateChange = this._onAdaptiveBitrateChange.bind(this)
+    this._onPublishSettingsChange = this._onPublishSettingsChange.bind(this)
+    this._onStreamStats = this._onStreamStats.bind(this)
+    this._onReconnect = this._onReconnect.bind(this)
+    this._onBackgroundStateChange = this._onBackgroundStateChange.bind(this)
+    this._onStateChange = this._onStateChange.bind(this)
+    this._onQualityChange = this._onQualityChange.bind(this)
 
     this.state = {
       configured: false
@@ -71,6 +82,76 @@ class R5VideoView extends React.Component {
     this.props.onUnpublishNotification(event)
   }
 
+  _onCameraSwapped = (event) => {
+    if (!this.props.onCameraSwapped) {
+      return
+    }
+    this.props.onCameraSwapped(event)
+  }
+
+  _onCommandResult = (event) => {
+    if (!this.props.onCommandResult) {
+      return
+    }
+    this.props.onCommandResult(event)
+  }
+
+  _onStartupMetrics = (event) => {
+    if (!this.props.onStartupMetrics) {
+      return
+    }
+    this.props.onStartupMetrics(event)
+  }
+
+  _onAdaptiveBitrateChange = (event) => {
+    if (!this.props.onAdaptiveBitrateChange) {
+      return
+    }
+    this.props.onAdaptiveBitrateChange(event)
+  }
+
+  _onPublishSettingsChange = (event) => {
+    if (!this.props.onPublishSettingsChange) {
+      return
+    }
+    this.props.onPublishSettingsChange(event)
+  }
+
+  _onStreamStats = (event) => {
+    if (!this.props.onStreamStats) {
+      return
+    }
+    this.props.onStreamStats(event)
+  }
+
+  _onReconnect = (event) => {
+    if (!this.props.onReconnect) {
+      return
+    }
+    this.props.onReconnect(event)
+  }
+
+  _onBackgroundStateChange = (event) => {
+    if (!this.props.onBackgroundStateChange) {
+      return
+    }
+    this.props.onBackgroundStateChange(event)
+  }
+
+  _onStateChange = (event) => {
+    if (!this.props.onStateChange) {
+      return
+    }
+    this.props.onStateChange(event)
+  }
+
+  _onQualityChange = (event) => {
+    if (!this.props.onQualityChange) {
+      return
+    }
+    this.props.onQualityChange(event)
+  }
+
   _onLayout = (event) => {
     // const layout = event.nativeEvent.layout
     // console.log(`R5Video:onLayout: ${event.nativeEvent.layout.x}, ${event.nativeEvent.layout.y}, ${event.nativeEvent.layout.width}x${event.nativeEvent.layout.height}`);
@@ -87,6 +168,16 @@ class R5VideoView extends React.Component {
             onSubscriberStreamStatus={this._onSubscriberStreamStatus}
             onUnsubscribeNotification={this._onUnsubscribeNotification}
             onUnpublishNotification={this._onUnpublishNotification}
+            onCameraSwapped={this._onCameraSwapped}
+            onCommandResult={this._onCommandResult}
+            onStartupMetrics={this._onStartupMetrics}
+            onAdaptiveBitrateChange={this._onAdaptiveBitrateChange}
+            onPublishSettingsChange={this._onPublishSettingsChange}
+            onStreamStats={this._onStreamStats}
+            onReconnect={this._onReconnect}
+            onBackgroundStateChange={this._onBackgroundStateChange}
+            onStateChange={this._onStateChange}
+            onQualityChange={this._onQualityChange}
           />
   }
 
@@ -104,10 +195,41 @@ R5VideoView.propTypes = {
     bitrate: PropTypes.number,                      // publisher only, kb/s
     framerate: PropTypes.number,                    // publisher only, fps
     useAdaptiveBitrateController: PropTypes.bool,   // publisher only
+    adaptiveBitrateOptions: PropTypes.shape({       // publisher only, android only
+      steps: PropTypes.number,
+      stepFactor: PropTypes.number,
+      minBitrate: PropTypes.number,
+      minFramerate: PropTypes.number,
+      allowFramerateChange: PropTypes.bool,
+      sampleInterval: PropTypes.number,
+      queueHigh: PropTypes.number,
+      queueLow: PropTypes.number,
+      downThreshold: PropTypes.number,
+      downgradeHoldTime: PropTypes.number,
+      upgradeHoldTime: PropTypes.number,
+      minDwellTime: PropTypes.number
+    }),
     useBackfacingCamera: PropTypes.bool,            // publisher only
     audioBitrate: PropTypes.number,                 // publisher only, kb/s
     audioSampleRate: PropTypes.number,              // publisher only, hz, default iOS is 16000, default Android is 44100
     audioMode: PropTypes.number, // mainly subscribers, especially with 2 subscribers.
+    backgroundPolicy: PropTypes.oneOf([R5BackgroundPolicy.CONTINUE, R5BackgroundPolicy.AUDIO_ONLY]), // android only
+    autoReconnect: PropTypes.bool,                  // android only
+    reconnectOptions: PropTypes.shape({             // android only
+      initialDelay: PropTypes.number,
+      maxDelay: PropTypes.number,
+      multiplier: PropTypes.number,
+      jitter: PropTypes.number,
+      maxAttempts: PropTypes.number,
+      deadline: PropTypes.number
+    }),
+    statsInterval: PropTypes.number,                // android only, ms, 0 disables stats sampling
+    statsBatchSize: PropTypes.number,               // android only, samples per onStreamStats event
+    qualityLadder: PropTypes.arrayOf(PropTypes.shape({ // subscriber only, android only
+      suffix: PropTypes.string,
+      width: PropTypes.number.isRequired,
+      height: PropTypes.number.isRequired
+    })),
     configuration: PropTypes.shape({
       host: PropTypes.string.isRequired,
       port: PropTypes.number.isRequired,
@@ -126,6 +248,16 @@ R5VideoView.propTypes = {
     onSubscriberStreamStatus: PropTypes.func,
     onUnsubscribeNotification: PropTypes.func,
     onUnpublishNotification: PropTypes.func,
+    onCameraSwapped: PropTypes.func,
+    onCommandResult: PropTypes.func,
+    onStartupMetrics: PropTypes.func,
+    onAdaptiveBitrateChange: PropTypes.func,
+    onPublishSettingsChange: PropTypes.func,
+    onStreamStats: PropTypes.func,
+    onReconnect: PropTypes.func,
+    onBackgroundStateChange: PropTypes.func,
+    onStateChange: PropTypes.func,
+    onQualityChange: PropTypes.func,
     ...ViewPropTypes
 }
 R5VideoView.defaultProps = {
@@ -142,7 +274,11 @@ R5VideoView.defaultProps = {
     audioBitrate: 32, // for HQ Audio: set to 128 + audioSampleRate: 44100
     useAdaptiveBitrateController: false,
     useBackfacingCamera: false,
-    audioMode: R5AudioMode.STANDARD
+    audioMode: R5AudioMode.STANDARD,
+    backgroundPolicy: R5BackgroundPolicy.CONTINUE,
+    autoReconnect: false,
+    statsInterval: 0,
+    statsBatchSize: 10
 }
 
 let R5Video = requireNativeComponent('R5VideoView', R5VideoView)